@@ -0,0 +1,55 @@
+-- Persisted order totals
+alter table orders add column if not exists total double precision;
+update orders o set total = coalesce((select sum(i.price * i.quantity) from order_item i where i.order_id = o.id), 0) where o.total is null;
+create index if not exists idx_orders_client_id on orders (client_id);
+create index if not exists idx_orders_moment on orders (moment);
+
+-- Pooled sequences for batched inserts
+create sequence if not exists users_seq increment by 50;
+create sequence if not exists products_seq increment by 50;
+create sequence if not exists categories_seq increment by 50;
+create sequence if not exists orders_seq increment by 50;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 1);
+select setval('products_seq', coalesce((select max(id) from products), 0) + 1);
+select setval('categories_seq', coalesce((select max(id) from categories), 0) + 1);
+select setval('orders_seq', coalesce((select max(id) from orders), 0) + 1);
+
+-- Daily sales rollup per product
+create table if not exists product_daily_sales (
+    sales_day date not null,
+    product_id bigint not null,
+    revenue double precision,
+    units bigint,
+    primary key (sales_day, product_id)
+);
+create index if not exists idx_product_daily_sales_day on product_daily_sales (sales_day);
+insert into product_daily_sales (sales_day, product_id, revenue, units)
+select cast(o.moment at time zone 'UTC' as date), i.product_id, sum(i.price * i.quantity), sum(i.quantity)
+from orders o join order_item i on i.order_id = o.id
+group by cast(o.moment at time zone 'UTC' as date), i.product_id
+on conflict do nothing;
+
+-- Entity versions for ETags
+alter table users add column if not exists version bigint not null default 0;
+alter table products add column if not exists version bigint not null default 0;
+alter table categories add column if not exists version bigint not null default 0;
+alter table orders add column if not exists version bigint not null default 0;
+
+-- Transactional outbox
+create sequence if not exists outbox_events_seq increment by 50;
+create table if not exists outbox_events (
+    id bigint primary key,
+    aggregate_type varchar(255),
+    aggregate_id bigint,
+    type varchar(255),
+    payload varchar(4000),
+    created_at timestamp(6) with time zone,
+    published_at timestamp(6) with time zone
+);
+create index if not exists idx_outbox_events_unpublished on outbox_events (id) where published_at is null;
+
+-- Money in minor units (cents)
+alter table products alter column price type bigint using round(price * 100);
+alter table order_item alter column price type bigint using round(price * 100);
+alter table orders alter column total type bigint using round(total * 100);
+alter table product_daily_sales alter column revenue type bigint using round(revenue * 100);
@@ -0,0 +1,34 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.*;
+import com.educandoweb.course.entities.enums.OrderStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+    private Fixtures() { }
+
+    static List<Product> products(int count) {
+        Category electronics = new Category(1L, "Electronics");
+        Category computers = new Category(2L, "Computers");
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product((long) i + 1, "Product " + i, "Lorem ipsum dolor sit amet, consectetur.", 1000L + i % 100 * 100, "");
+            product.getCategories().add(i % 2 == 0 ? electronics : computers);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static Order order(long id, int itemCount) {
+        User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", "123456");
+        Order order = new Order(id, Instant.parse("2019-06-20T19:53:07Z"), OrderStatus.PAID, client);
+        for (Product product : products(itemCount)) {
+            order.addItem(new OrderItem(null, product, 1 + (int) (product.getId() % 5), product.getPrice()));
+        }
+        order.setPayment(new Payment(id, Instant.parse("2019-06-20T21:53:07Z"), order));
+        return order;
+    }
+}
@@ -0,0 +1,132 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OrderItem;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.entities.util.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The jmh profile runs with -prof gc; compare gc.alloc.rate.norm (bytes per operation) between the variants.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+    @Param({"10", "1000"})
+    private int itemCount;
+
+    private List<Product> products;
+    private List<BoxedItem> boxedItems;
+    private Order order;
+    private Long[] prices;
+    private JsonGenerator generator;
+    private Money.Serializer serializer;
+
+    @Setup
+    public void setup() throws IOException {
+        products = Fixtures.products(itemCount);
+        order = Fixtures.order(1L, itemCount);
+        boxedItems = new ArrayList<>(itemCount);
+        for (OrderItem item : order.getItems()) {
+            boxedItems.add(new BoxedItem(item.getQuantity(), item.getPrice() / 100.0));
+        }
+        // Jackson hands serializers the already boxed property value, so the write benchmarks start from boxed prices too.
+        prices = products.stream().map(Product::getPrice).toArray(Long[]::new);
+        generator = new ObjectMapper().getFactory().createGenerator(OutputStream.nullOutputStream());
+        serializer = new Money.Serializer();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    @Benchmark
+    public Double boxedSubTotals() {
+        Double total = 0.0;
+        for (BoxedItem item : boxedItems) {
+            total += item.getSubTotal();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long fixedPointSubTotals() {
+        long total = 0L;
+        for (OrderItem item : order.getItems()) {
+            total += item.getSubTotal();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Double boxedTotalMaintenance() {
+        BoxedOrder boxed = new BoxedOrder();
+        for (int i = 0; i < products.size(); i++) {
+            boxed.adjustTotal(new BoxedItem(1 + i % 5, products.get(i).getPrice() / 100.0).getSubTotal());
+        }
+        return boxed.total;
+    }
+
+    @Benchmark
+    public long fixedPointTotalMaintenance() {
+        Order fresh = new Order();
+        for (int i = 0; i < products.size(); i++) {
+            new OrderItem(fresh, products.get(i), 1 + i % 5, products.get(i).getPrice());
+        }
+        return fresh.getTotal();
+    }
+
+    @Benchmark
+    public void decimalWrites() throws IOException {
+        generator.writeStartArray();
+        for (Long price : prices) {
+            generator.writeNumber(Money.toDecimal(price));
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    @Benchmark
+    public void serializerWrites() throws IOException {
+        generator.writeStartArray();
+        for (Long price : prices) {
+            serializer.serialize(price, generator, null);
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    // The Double-based representation used before money moved to long minor units.
+    private static final class BoxedItem {
+        private final Integer quantity;
+        private final Double price;
+
+        BoxedItem(Integer quantity, Double price) {
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        Double getSubTotal() {
+            if (price == null || quantity == null) {
+                return 0.0;
+            }
+            return price * quantity;
+        }
+    }
+
+    private static final class BoxedOrder {
+        private Double total = 0.0;
+
+        void adjustTotal(double delta) {
+            total += delta;
+        }
+    }
+}
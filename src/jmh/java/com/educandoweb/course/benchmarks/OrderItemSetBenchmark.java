@@ -0,0 +1,48 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderItemSetBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int itemCount;
+
+    private List<OrderItem> items;
+    private Set<OrderItem> set;
+    private OrderItem probe;
+
+    @Setup
+    public void setup() {
+        Order order = Fixtures.order(1L, itemCount);
+        items = new ArrayList<>(order.getItems());
+        set = new HashSet<>(items);
+        probe = items.get(items.size() / 2);
+    }
+
+    @Benchmark
+    public Set<OrderItem> buildSet() {
+        return new HashSet<>(items);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean contains() {
+        return set.contains(probe);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int hashCodeOf() {
+        return probe.hashCode();
+    }
+}
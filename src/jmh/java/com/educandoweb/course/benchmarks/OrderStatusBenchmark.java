@@ -0,0 +1,19 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderStatusBenchmark {
+    private int code;
+
+    @Benchmark
+    public OrderStatus valueOf() {
+        code = code % 5 + 1;
+        return OrderStatus.valueOf(code);
+    }
+}
@@ -0,0 +1,45 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Both benchmarks change one item and then read the total, so the stored total pays its bookkeeping on every write.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTotalBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int itemCount;
+
+    private Order order;
+    private OrderItem item;
+
+    @Setup
+    public void setup() {
+        order = Fixtures.order(1L, itemCount);
+        item = order.getItems().iterator().next();
+    }
+
+    @Benchmark
+    public long storedTotal() {
+        item.setQuantity(nextQuantity());
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public long sumOfSubTotals() {
+        item.setQuantity(nextQuantity());
+        long sum = 0L;
+        for (OrderItem line : order.getItems()) {
+            sum += line.getSubTotal();
+        }
+        return sum;
+    }
+
+    private int nextQuantity() {
+        return item.getQuantity() == 1 ? 2 : 1;
+    }
+}
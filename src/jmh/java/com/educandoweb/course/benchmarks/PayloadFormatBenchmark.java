@@ -0,0 +1,64 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.Order;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "500"})
+    private int orderCount;
+
+    private ObjectMapper mapper;
+    private List<Order> orders;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(Fixtures.order(i + 1, 5));
+        }
+        byte[] payload = mapper.writeValueAsBytes(orders);
+        System.out.printf("%n%s, %d orders: %d bytes, %d bytes gzipped%n", format, orderCount, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        return gzip(mapper.writeValueAsBytes(orders));
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(payload);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.SpringCursoApplication;
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.services.OrderService;
+import com.educandoweb.course.services.ProductService;
+import com.educandoweb.course.services.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the platform-thread default with the "virtual" profile. The virtual variant needs a Java 21 runtime.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(256)
+public class RequestThroughputBenchmark {
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String profiles = virtualThreads ? "test,virtual" : "test";
+        context = new SpringApplicationBuilder(SpringCursoApplication.class)
+                .run("--spring.profiles.active=" + profiles, "--server.port=0", "--spring.jpa.show-sql=false",
+                        "--app.admission.enabled=false");
+        seed();
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders?size=20")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listOrders() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void seed() {
+        List<Long> clientIds = context.getBean(UserService.class)
+                .insertAll(List.of(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456")));
+        List<Long> productIds = context.getBean(ProductService.class).insertAll(Fixtures.products(50).stream()
+                .peek(product -> {
+                    product.setId(null);
+                    product.getCategories().clear();
+                })
+                .toList());
+
+        List<OrderDTO> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            OrderDTO order = new OrderDTO(Instant.now(), OrderStatus.PAID, clientIds.get(0), Instant.now());
+            for (int j = 0; j < 5; j++) {
+                order.getItems().add(new OrderItemDTO(productIds.get((i + j) % productIds.size()), 1 + j, null));
+            }
+            orders.add(order);
+        }
+        context.getBean(OrderService.class).insertAll(orders);
+    }
+}
@@ -0,0 +1,39 @@
+package com.educandoweb.course.benchmarks;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.resources.exceptions.StandardError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    private int itemCount;
+
+    private ObjectMapper mapper;
+    private Order order;
+    private StandardError error;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        order = Fixtures.order(1L, itemCount);
+        error = new StandardError(Instant.now(), 404, "Resource not found", "Resource not found. Id 1", "/orders/1");
+    }
+
+    @Benchmark
+    public byte[] order() throws Exception {
+        return mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] standardError() throws Exception {
+        return mapper.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,92 @@
+package com.educandoweb.course.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures time-to-first-request of the build variants. Build them first with
+// "mvn -Pfast-startup -Dstartup.profiles=test package" so the AOT and CDS profile matches the test profile run here;
+// the native variant also needs "mvn -Pnative native:compile" on GraalVM and is selected with -p variant=native.
+// Processes run from target/startup because the CDS archive only maps with the classpath it was trained on.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final File DIRECTORY = new File("target/startup");
+    private static final String STARTUP_JAR = "course-0.0.1-SNAPSHOT-startup.jar";
+
+    @Param({"jar", "thin", "aot", "aot-cds"})
+    private String variant;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private int port;
+    private Process process;
+
+    @Setup(Level.Invocation)
+    public void setup() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    @Benchmark
+    public int firstRequest() throws Exception {
+        File log = new File(DIRECTORY, variant + ".log");
+        process = new ProcessBuilder(command())
+                .directory(DIRECTORY)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products")).build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(variant + " exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException(variant + " did not answer within " + TIMEOUT);
+    }
+
+    private List<String> command() {
+        List<String> command = new ArrayList<>();
+        String java = System.getProperty("java.home") + "/bin/java";
+        switch (variant) {
+            case "jar" -> command.addAll(List.of(java, "-jar", "../course-0.0.1-SNAPSHOT.jar"));
+            case "thin" -> command.addAll(List.of(java, "-jar", STARTUP_JAR));
+            case "aot" -> command.addAll(List.of(java, "-Dspring.aot.enabled=true", "-jar", STARTUP_JAR));
+            case "aot-cds" -> command.addAll(List.of(java, "-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=app.jsa", "-Xlog:cds=error", "-jar", STARTUP_JAR));
+            case "native" -> command.add("../course");
+            default -> throw new IllegalArgumentException("Unknown variant " + variant);
+        }
+        command.addAll(List.of("--spring.profiles.active=test", "--server.port=" + port, "--spring.jpa.show-sql=false"));
+        return command;
+    }
+}
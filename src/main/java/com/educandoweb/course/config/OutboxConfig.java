@@ -0,0 +1,22 @@
+package com.educandoweb.course.config;
+
+import com.educandoweb.course.services.outbox.OutboxPublisher;
+import com.educandoweb.course.services.outbox.WebhookOutboxPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+public class OutboxConfig {
+    @Bean
+    @ConditionalOnProperty("app.outbox.webhook-url")
+    public OutboxPublisher webhookOutboxPublisher(@Value("${app.outbox.webhook-url}") URI url,
+                                                  @Value("${app.outbox.delivery-timeout}") Duration timeout, ObjectMapper mapper) {
+        return new WebhookOutboxPublisher(url, timeout, mapper);
+    }
+}
@@ -0,0 +1,54 @@
+package com.educandoweb.course.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// Drives the class-data-sharing training run of the fast-startup build: serves a few requests so their classes
+// end up in the archive, then exits. This is a runtime check rather than a condition because AOT processing
+// freezes conditions at build time.
+@Component
+public class StartupTrainingRun {
+    private static final Logger log = LoggerFactory.getLogger(StartupTrainingRun.class);
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+    @Value("${app.startup.training-run}")
+    private boolean enabled;
+    @Value("${app.startup.training-requests}")
+    private String[] paths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        HttpClient client = HttpClient.newHttpClient();
+        for (String path : paths) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                log.info("Training request {} returned {}", path, status);
+            } catch (IOException e) {
+                log.warn("Training request {} failed", path, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -31,11 +31,11 @@ import java.util.Arrays;
 //        Category cat2 = new Category(null, "Books");
 //        Category cat3 = new Category(null, "Computers");
 //
-//        Product p1 = new Product(null, "The Lord of the Rings", "Lorem ipsum dolor sit amet, consectetur.", 90.5, "");
-//        Product p2 = new Product(null, "Smart TV", "Nulla eu imperdiet purus. Maecenas ante.", 2190.0, "");
-//        Product p3 = new Product(null, "Macbook Pro", "Nam eleifend maximus tortor, at mollis.", 1250.0, "");
-//        Product p4 = new Product(null, "PC Gamer", "Donec aliquet odio ac rhoncus cursus.", 1200.0, "");
-//        Product p5 = new Product(null, "Rails for Dummies", "Cras fringilla convallis sem vel faucibus.", 100.99, "");
+//        Product p1 = new Product(null, "The Lord of the Rings", "Lorem ipsum dolor sit amet, consectetur.", 9050L, "");
+//        Product p2 = new Product(null, "Smart TV", "Nulla eu imperdiet purus. Maecenas ante.", 219000L, "");
+//        Product p3 = new Product(null, "Macbook Pro", "Nam eleifend maximus tortor, at mollis.", 125000L, "");
+//        Product p4 = new Product(null, "PC Gamer", "Donec aliquet odio ac rhoncus cursus.", 120000L, "");
+//        Product p5 = new Product(null, "Rails for Dummies", "Cras fringilla convallis sem vel faucibus.", 10099L, "");
 //
 //        categoryRepository.saveAll(Arrays.asList(cat1, cat2, cat3));
 //        productRepository.saveAll(Arrays.asList(p1, p2, p3, p4, p5));
@@ -0,0 +1,121 @@
+package com.educandoweb.course.config.admission;
+
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import com.educandoweb.course.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Runs ahead of the response cache and idempotency filters, so cache hits and replays are rate limited like any other request.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    @Autowired
+    private LoadMonitor loadMonitor;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver exceptionResolver;
+    @Value("${app.admission.enabled}")
+    private boolean enabled;
+    @Value("${app.admission.paths}")
+    private String[] paths;
+    @Value("${app.admission.rate}")
+    private double rate;
+    @Value("${app.admission.burst}")
+    private int burst;
+    @Value("${app.admission.max-clients}")
+    private int maxClients;
+    @Value("${app.admission.shed-retry-after}")
+    private long shedRetryAfter;
+
+    private final PathMatcher matcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private TokenBucket overflow;
+
+    @PostConstruct
+    void init() {
+        registry.gaugeMapSize("app.admission.clients", Tags.empty(), buckets);
+        overflow = new TokenBucket(rate, burst, System.nanoTime());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        for (String path : paths) {
+            if (matcher.match(path, uri)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        TokenBucket bucket = bucket(client(request), now);
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            reject(request, response, new TooManyRequestsException("Rate limit exceeded, try again later", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L))));
+            return;
+        }
+        if (loadMonitor.isOverloaded()) {
+            reject(request, response, new ServiceUnavailableException("Server is overloaded, try again later", shedRetryAfter));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RuntimeException e) {
+        exceptionResolver.resolveException(request, response, null, e);
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.eviction-interval}")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    // Once the table is full, unseen clients share one bucket until eviction frees room, so memory stays bounded.
+    private TokenBucket bucket(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(rate, burst, now));
+    }
+
+    // Buckets are keyed by who the server saw, never by a header the caller could rotate to get a fresh burst.
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+}
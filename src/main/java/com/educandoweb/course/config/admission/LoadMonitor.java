@@ -0,0 +1,51 @@
+package com.educandoweb.course.config.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Samples the Hikari pool meters of every pool (primary and replicas) instead of the DataSource, which may be a routing proxy.
+@Component
+public class LoadMonitor {
+    @Autowired
+    private MeterRegistry registry;
+    @Value("${app.admission.max-pending-connections}")
+    private int maxPendingConnections;
+    @Value("${app.admission.max-acquire-time}")
+    private Duration maxAcquireTime;
+
+    private long lastCount;
+    private double lastTotalNanos;
+    private volatile double pendingConnections;
+    private volatile double meanAcquireNanos;
+
+    @Scheduled(fixedDelayString = "${app.admission.sample-interval}")
+    public synchronized void sample() {
+        double pending = 0;
+        for (Gauge gauge : registry.find("hikaricp.connections.pending").gauges()) {
+            pending = Math.max(pending, gauge.value());
+        }
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : registry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long acquired = count - lastCount;
+        meanAcquireNanos = acquired > 0 ? (totalNanos - lastTotalNanos) / acquired : 0;
+        pendingConnections = pending;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+    }
+
+    public boolean isOverloaded() {
+        return pendingConnections > maxPendingConnections || meanAcquireNanos > maxAcquireTime.toNanos();
+    }
+}
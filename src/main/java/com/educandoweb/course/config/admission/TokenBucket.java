@@ -0,0 +1,35 @@
+package com.educandoweb.course.config.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single theoretical arrival time (GCRA), so admitting a request is one CAS with no lock.
+public class TokenBucket {
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong arrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long now) {
+        this.interval = (long) (1_000_000_000L / ratePerSecond);
+        this.tolerance = interval * (Math.max(burst, 1) - 1);
+        this.arrival = new AtomicLong(now);
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanoseconds until one is available.
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long now) {
+        return arrival.get() <= now;
+    }
+}
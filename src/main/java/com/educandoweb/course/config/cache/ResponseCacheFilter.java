@@ -0,0 +1,163 @@
+package com.educandoweb.course.config.cache;
+
+import com.educandoweb.course.resources.util.ETags;
+import com.educandoweb.course.services.events.CatalogChangedEvent;
+import com.educandoweb.course.services.events.CategoryChangedEvent;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    public static final String CACHE_NAME = "http-responses";
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Value("${app.response-cache.enabled}")
+    private boolean enabled;
+    @Value("${app.response-cache.paths}")
+    private String[] paths;
+    @Value("${app.response-cache.max-body-size}")
+    private DataSize maxBodySize;
+    @Value("${app.response-cache.max-age}")
+    private Duration maxAge;
+
+    private Cache cache;
+    private String cacheControl;
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = cacheManager.getCache(CACHE_NAME);
+        cacheControl = (maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).mustRevalidate())
+                .cachePublic().getHeaderValue();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !HttpMethod.GET.matches(request.getMethod()) || request.getParameter("stream") != null) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        for (String path : paths) {
+            if (uri.equals(path) || uri.startsWith(path + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String key = key(request);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            write(request, response, cached);
+            return;
+        }
+
+        long observed = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        int status = wrapper.getStatus();
+        if (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_NOT_MODIFIED) {
+            addCacheHeaders(wrapper, "MISS");
+        }
+        if (status == HttpServletResponse.SC_OK && wrapper.getContentSize() <= maxBodySize.toBytes()) {
+            store(key, observed, new CachedResponse(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                    wrapper.getHeader(HttpHeaders.LINK), wrapper.getContentAsByteArray()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.isBatched()) {
+            invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidate();
+    }
+
+    // Product payloads embed their categories and list pages span many rows, so any catalog change drops every entry.
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private void store(String key, long observed, CachedResponse cached) {
+        if (generation.get() != observed) {
+            return;
+        }
+        cache.put(key, cached);
+        if (generation.get() != observed) {
+            cache.evict(key);
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached) throws IOException {
+        addCacheHeaders(response, "HIT");
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+            if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        if (cached.link() != null) {
+            response.setHeader(HttpHeaders.LINK, cached.link());
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private void addCacheHeaders(HttpServletResponse response, String cacheStatus) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(CACHE_STATUS_HEADER, cacheStatus);
+    }
+
+    private static String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query != null ? "?" + query : "") + " " + (accept != null ? accept : "*/*");
+    }
+
+    private record CachedResponse(String contentType, String etag, String link, byte[] body) implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,86 @@
+package com.educandoweb.course.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("app.datasource")
+public class ReplicaProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    private String lagQuery;
+    private Duration maxLag = Duration.ofSeconds(10);
+    private boolean fallbackToPrimary = true;
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public boolean isFallbackToPrimary() {
+        return fallbackToPrimary;
+    }
+
+    public void setFallbackToPrimary(boolean fallbackToPrimary) {
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.educandoweb.course.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+    @Autowired
+    private ReplicaProperties properties;
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, MeterRegistry registry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicaPools.add(pool);
+            replicas.add(pool);
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                properties.getLagQuery(), properties.getMaxLag(), properties.isFallbackToPrimary());
+        registry.gauge("app.datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::healthyReplicas);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Scheduled(initialDelayString = "${app.datasource.check-interval}", fixedDelayString = "${app.datasource.check-interval}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    @PreDestroy
+    void closeReplicas() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,127 @@
+package com.educandoweb.course.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final boolean fallbackToPrimary;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, Duration maxLag, boolean fallbackToPrimary) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (!isReadOnlyTransaction()) {
+            return connector.open(primary);
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            return noReplicaAvailable(connector);
+        }
+        try {
+            return connector.open(replica.dataSource);
+        } catch (SQLException e) {
+            log.warn("Replica unavailable, marking it down", e);
+            replica.healthy = false;
+            return noReplicaAvailable(connector);
+        }
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = check(replica.dataSource);
+            if (healthy != replica.healthy) {
+                log.info("Replica marked {}", healthy ? "up" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private boolean check(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+                return lagSeconds * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Connection noReplicaAvailable(Connector connector) throws SQLException {
+        if (!fallbackToPrimary) {
+            throw new SQLException("No healthy replica available for a read-only transaction");
+        }
+        return connector.open(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
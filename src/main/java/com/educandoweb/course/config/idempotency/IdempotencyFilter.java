@@ -0,0 +1,169 @@
+package com.educandoweb.course.config.idempotency;
+
+import com.educandoweb.course.services.exceptions.IdempotencyKeyMismatchException;
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String CACHE_NAME = "idempotency-keys";
+    public static final String KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver exceptionResolver;
+    @Value("${app.idempotency.enabled}")
+    private boolean enabled;
+    @Value("${app.idempotency.wait-timeout}")
+    private Duration waitTimeout;
+
+    private Cache store;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        store = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !enabled || request.getHeader(KEY_HEADER) == null
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(request, response, new ValidationException(KEY_HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters"));
+            return;
+        }
+        DigestingRequest digesting = new DigestingRequest(request);
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + client(request) + " " + idempotencyKey;
+
+        StoredResponse stored = store.get(key, StoredResponse.class);
+        if (stored != null) {
+            replay(digesting, response, idempotencyKey, digesting.fingerprint(), stored);
+            return;
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            await(digesting, response, idempotencyKey, digesting.fingerprint(), existing);
+            return;
+        }
+
+        // The first execution may have finished between the lookup and the claim.
+        stored = store.get(key, StoredResponse.class);
+        if (stored != null) {
+            inFlight.remove(key, execution);
+            execution.complete(stored);
+            replay(digesting, response, idempotencyKey, digesting.fingerprint(), stored);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse result = null;
+        try {
+            chain.doFilter(digesting, wrapper);
+            result = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION),
+                    wrapper.getContentAsByteArray(), digesting.fingerprint());
+            if (isStorable(result.status())) {
+                store.put(key, result);
+            }
+        } finally {
+            inFlight.remove(key, execution);
+            if (result != null) {
+                execution.complete(result);
+            } else {
+                execution.completeExceptionally(new IllegalStateException("Request with idempotency key " + idempotencyKey + " failed"));
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // Server errors and throttling are transient, so a retry with the same key must be allowed to run again.
+    private static boolean isStorable(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void await(HttpServletRequest request, HttpServletResponse response, String idempotencyKey, String fingerprint,
+                       CompletableFuture<StoredResponse> execution) throws IOException {
+        try {
+            replay(request, response, idempotencyKey, fingerprint, execution.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException e) {
+            reject(request, response, new ServiceUnavailableException("Request with idempotency key " + idempotencyKey + " is still in progress"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(request, response, new ServiceUnavailableException("Request with idempotency key " + idempotencyKey + " is still in progress"));
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, String idempotencyKey, String fingerprint,
+                        StoredResponse stored) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            reject(request, response, new IdempotencyKeyMismatchException(idempotencyKey));
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RuntimeException e) {
+        exceptionResolver.resolveException(request, response, null, e);
+    }
+
+    // Keys are scoped by who the server saw, never by a header the caller could copy from someone else.
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private record StoredResponse(int status, String contentType, String location, byte[] body, String fingerprint) implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,40 @@
+package com.educandoweb.course.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    @Autowired
+    private MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("SQL statements issued while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request))
+                    .register(registry)
+                    .record(SqlStatementCounter.count());
+        }
+    }
+
+    static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
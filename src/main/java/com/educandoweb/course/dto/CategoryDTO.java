@@ -0,0 +1,36 @@
+package com.educandoweb.course.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class CategoryDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private Long id;
+    @JsonIgnore
+    private Long version;
+    private String name;
+
+    public CategoryDTO() {
+    }
+
+    public CategoryDTO(Long id, Long version, String name) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+package com.educandoweb.course.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+public class FacetPageDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private long total;
+    private Map<Long, Long> categoryCounts;
+    private List<ProductDTO> products;
+
+    public FacetPageDTO() {
+    }
+
+    public FacetPageDTO(long total, Map<Long, Long> categoryCounts, List<ProductDTO> products) {
+        this.total = total;
+        this.categoryCounts = categoryCounts;
+        this.products = products;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<Long, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+}
@@ -0,0 +1,27 @@
+package com.educandoweb.course.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class ImportErrorDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private long line;
+    private String message;
+
+    public ImportErrorDTO() {
+    }
+
+    public ImportErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,47 @@
+package com.educandoweb.course.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private long rows;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    public ImportReportDTO() {
+    }
+
+    public ImportReportDTO(long rows, long created, long updated, long failed, List<ImportErrorDTO> errors) {
+        this.rows = rows;
+        this.created = created;
+        this.updated = updated;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,72 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant moment;
+    private OrderStatus orderStatus;
+    private Long clientId;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant paymentMoment;
+    private List<OrderItemDTO> items = new ArrayList<>();
+
+    public OrderDTO() {
+    }
+
+    public OrderDTO(Instant moment, OrderStatus orderStatus, Long clientId, Instant paymentMoment) {
+        this.moment = moment;
+        this.orderStatus = orderStatus;
+        this.clientId = clientId;
+        this.paymentMoment = paymentMoment;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+
+    public void setMoment(Instant moment) {
+        this.moment = moment;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public Instant getPaymentMoment() {
+        return paymentMoment;
+    }
+
+    public void setPaymentMoment(Instant paymentMoment) {
+        this.paymentMoment = paymentMoment;
+    }
+
+    public List<OrderItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemDTO> items) {
+        this.items = items;
+    }
+}
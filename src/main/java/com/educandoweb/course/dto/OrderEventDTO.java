@@ -0,0 +1,79 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.util.Money;
+import com.educandoweb.course.services.events.OrderChangedEvent;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEventDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    public static final String CREATED = "OrderCreated";
+    public static final String STATUS_CHANGED = "OrderStatusChanged";
+
+    private long sequence;
+    private String type;
+    private Long orderId;
+    private Long clientId;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    @JsonSerialize(using = Money.Serializer.class)
+    private long total;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant moment;
+
+    public OrderEventDTO() {
+    }
+
+    public OrderEventDTO(long sequence, OrderChangedEvent event) {
+        this.sequence = sequence;
+        this.type = event.isCreated() ? CREATED : STATUS_CHANGED;
+        this.orderId = event.getOrderId();
+        this.clientId = event.getClientId();
+        this.previousStatus = event.getPreviousStatus();
+        this.orderStatus = event.getOrderStatus();
+        this.total = event.getTotal();
+        this.moment = event.getMoment();
+    }
+
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+}
@@ -0,0 +1,92 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.enums.OrderStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+public class OrderExportRowDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private final Long orderId;
+    private final Instant moment;
+    private final OrderStatus orderStatus;
+    private final Long clientId;
+    private final String clientName;
+    private final String clientEmail;
+    private final long total;
+    private final Instant paymentMoment;
+    private final Long productId;
+    private final String productName;
+    private final Integer quantity;
+    private final Long price;
+
+    public OrderExportRowDTO(Long orderId, Instant moment, Integer orderStatus, Long clientId, String clientName, String clientEmail,
+                             long total, Instant paymentMoment, Long productId, String productName, Integer quantity, Long price) {
+        this.orderId = orderId;
+        this.moment = moment;
+        this.orderStatus = orderStatus != null ? OrderStatus.valueOf(orderStatus) : null;
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.clientEmail = clientEmail;
+        this.total = total;
+        this.paymentMoment = paymentMoment;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getClientEmail() {
+        return clientEmail;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getPaymentMoment() {
+        return paymentMoment;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Long getPrice() {
+        return price;
+    }
+
+    public boolean hasItem() {
+        return productId != null;
+    }
+}
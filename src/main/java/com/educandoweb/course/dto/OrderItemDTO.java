@@ -0,0 +1,51 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.util.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class OrderItemDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private Long productId;
+    private Integer quantity;
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private Long price;
+
+    public OrderItemDTO() {
+    }
+
+    public OrderItemDTO(Long productId, Integer quantity, Long price) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getPrice() {
+        return price;
+    }
+
+    public void setPrice(Long price) {
+        this.price = price;
+    }
+}
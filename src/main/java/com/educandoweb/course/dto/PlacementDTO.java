@@ -0,0 +1,51 @@
+package com.educandoweb.course.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlacementDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private String ticket;
+    private PlacementStatus status;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant acceptedAt;
+    private Long orderId;
+    private String message;
+
+    public PlacementDTO() {
+    }
+
+    public PlacementDTO(String ticket, PlacementStatus status, Instant acceptedAt, Long orderId, String message) {
+        this.ticket = ticket;
+        this.status = status;
+        this.acceptedAt = acceptedAt;
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public PlacementStatus getStatus() {
+        return status;
+    }
+
+    public Instant getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
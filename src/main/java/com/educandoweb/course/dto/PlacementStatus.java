@@ -0,0 +1,7 @@
+package com.educandoweb.course.dto;
+
+public enum PlacementStatus {
+    QUEUED,
+    PLACED,
+    FAILED
+}
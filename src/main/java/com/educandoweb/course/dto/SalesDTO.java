@@ -0,0 +1,51 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.util.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private Long id;
+    private LocalDate day;
+    @JsonSerialize(using = Money.Serializer.class)
+    private Long revenue;
+    private Long units;
+
+    public SalesDTO() {
+    }
+
+    public SalesDTO(Long id, Long revenue, Long units) {
+        this.id = id;
+        this.revenue = revenue;
+        this.units = units;
+    }
+
+    public SalesDTO(LocalDate day, Long revenue, Long units) {
+        this.day = day;
+        this.revenue = revenue;
+        this.units = units;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Long getRevenue() {
+        return revenue;
+    }
+
+    public Long getUnits() {
+        return units;
+    }
+}
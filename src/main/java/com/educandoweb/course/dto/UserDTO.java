@@ -0,0 +1,68 @@
+package com.educandoweb.course.dto;
+
+import com.educandoweb.course.entities.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class UserDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private Long id;
+    @JsonIgnore
+    private Long version;
+    private String name;
+    private String email;
+    private String phone;
+
+    public UserDTO() {
+    }
+
+    public UserDTO(Long id, Long version, String name, String email, String phone) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public UserDTO(User user) {
+        this(user.getId(), user.getVersion(), user.getName(), user.getEmail(), user.getPhone());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+
+        UserDTO userDTO = (UserDTO) object;
+
+        return id.equals(userDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
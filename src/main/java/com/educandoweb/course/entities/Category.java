@@ -2,6 +2,8 @@ package com.educandoweb.course.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -9,13 +11,18 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Table(name = "categories")
 public class Category implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private String name;
 
     @JsonIgnore
@@ -37,6 +44,11 @@ public class Category implements Serializable {
         this.id = id;
     }
 
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
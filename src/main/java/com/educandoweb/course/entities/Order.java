@@ -1,7 +1,10 @@
 package com.educandoweb.course.entities;
 
 import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.util.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 
 import java.io.Serial;
@@ -11,19 +14,25 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {@Index(columnList = "client_id"), @Index(columnList = "moment")})
 public class Order implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
     private Instant moment;
 
     private Integer orderStatus;
 
+    @JsonSerialize(using = Money.Serializer.class)
+    private long total;
+
     @ManyToOne
     @JoinColumn(name = "client_id")
     private User client;
@@ -51,6 +60,11 @@ public class Order implements Serializable {
         this.id = id;
     }
 
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
     public Instant getMoment() {
         return moment;
     }
@@ -89,12 +103,17 @@ public class Order implements Serializable {
         this.payment = payment;
     }
 
-    public Double getTotal() {
-        var sum = 0.0;
-        for (OrderItem x: items) {
-            sum += x.getSubTotal();
-        }
-        return sum;
+    public void addItem(OrderItem item) {
+        item.setOrder(this);
+        items.add(item);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    void adjustTotal(long delta) {
+        total += delta;
     }
 
     @Override
@@ -1,9 +1,12 @@
 package com.educandoweb.course.entities;
 
 import com.educandoweb.course.entities.pk.OrderItemPK;
+import com.educandoweb.course.entities.util.Money;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.PreRemove;
 import jakarta.persistence.Table;
 
 import java.io.Serial;
@@ -17,15 +20,16 @@ public class OrderItem implements Serializable {
     @EmbeddedId
     private OrderItemPK id = new OrderItemPK();
     private Integer quantity;
-    private Double price;
+    @JsonSerialize(using = Money.Serializer.class)
+    private long price;
 
     public OrderItem() { }
 
-    public OrderItem(Order order, Product product, Integer quantity, Double price) {
-        id.setOrder(order);
+    public OrderItem(Order order, Product product, Integer quantity, long price) {
         id.setProduct(product);
         this.quantity = quantity;
         this.price = price;
+        setOrder(order);
     }
 
     public Integer getQuantity() {
@@ -33,15 +37,19 @@ public class OrderItem implements Serializable {
     }
 
     public void setQuantity(Integer quantity) {
+        long before = getSubTotal();
         this.quantity = quantity;
+        adjustOrderTotal(getSubTotal() - before);
     }
 
-    public Double getPrice() {
+    public long getPrice() {
         return price;
     }
 
-    public void setPrice(Double price) {
+    public void setPrice(long price) {
+        long before = getSubTotal();
         this.price = price;
+        adjustOrderTotal(getSubTotal() - before);
     }
 
     @JsonIgnore
@@ -50,7 +58,9 @@ public class OrderItem implements Serializable {
     }
 
     public void setOrder(Order order) {
+        adjustOrderTotal(-getSubTotal());
         this.id.setOrder(order);
+        adjustOrderTotal(getSubTotal());
     }
 
     public Product getProduct() {
@@ -61,8 +71,23 @@ public class OrderItem implements Serializable {
         this.id.setProduct(product);
     }
 
-    public Double getSubTotal() {
-        return price * quantity;
+    @JsonSerialize(using = Money.Serializer.class)
+    public long getSubTotal() {
+        if (quantity == null) {
+            return 0L;
+        }
+        return Money.times(price, quantity);
+    }
+
+    @PreRemove
+    private void removeFromOrderTotal() {
+        adjustOrderTotal(-getSubTotal());
+    }
+
+    private void adjustOrderTotal(long delta) {
+        if (id.getOrder() != null) {
+            id.getOrder().adjustTotal(delta);
+        }
     }
 
     @Override
@@ -0,0 +1,83 @@
+package com.educandoweb.course.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events", indexes = @Index(columnList = "published_at, id"))
+public class OutboxEvent implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String type;
+    @Column(length = 4000)
+    private String payload;
+    private Instant createdAt;
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public OutboxEvent() { }
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String type, String payload, Instant createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+
+        OutboxEvent outboxEvent = (OutboxEvent) object;
+
+        return id.equals(outboxEvent.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
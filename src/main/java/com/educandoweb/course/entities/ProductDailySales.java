@@ -0,0 +1,61 @@
+package com.educandoweb.course.entities;
+
+import com.educandoweb.course.entities.pk.ProductDailySalesPK;
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "product_daily_sales", indexes = @Index(columnList = "sales_day"))
+public class ProductDailySales implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    @EmbeddedId
+    private ProductDailySalesPK id;
+    private long revenue;
+    private Long units;
+
+    public ProductDailySales() { }
+
+    public ProductDailySales(ProductDailySalesPK id, long revenue, Long units) {
+        this.id = id;
+        this.revenue = revenue;
+        this.units = units;
+    }
+
+    public ProductDailySalesPK getId() {
+        return id;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public Long getUnits() {
+        return units;
+    }
+
+    public void setUnits(Long units) {
+        this.units = units;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+
+        ProductDailySales that = (ProductDailySales) object;
+
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -14,8 +14,11 @@ public class User implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private String email;
     private String phone;
@@ -43,6 +46,11 @@ public class User implements Serializable {
         this.id = id;
     }
 
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
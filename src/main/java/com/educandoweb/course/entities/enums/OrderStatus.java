@@ -17,6 +17,15 @@ public enum OrderStatus {
         return code;
     }
 
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case WAITING_PAYMENT -> next == PAID || next == CANCELED;
+            case PAID -> next == SHIPED || next == CANCELED;
+            case SHIPED -> next == DELIVERED || next == CANCELED;
+            case DELIVERED, CANCELED -> false;
+        };
+    }
+
     public static OrderStatus valueOf(int code) {
         for (OrderStatus value: OrderStatus.values()) {
             if (value.getCode() == code) {
@@ -0,0 +1,58 @@
+package com.educandoweb.course.entities.pk;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+public class ProductDailySalesPK implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    @Column(name = "sales_day")
+    private LocalDate day;
+    private Long productId;
+
+    public ProductDailySalesPK() { }
+
+    public ProductDailySalesPK(LocalDate day, Long productId) {
+        this.day = day;
+        this.productId = productId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+
+        ProductDailySalesPK that = (ProductDailySalesPK) object;
+
+        if (!day.equals(that.day)) return false;
+        return productId.equals(that.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = day.hashCode();
+        result = 31 * result + productId.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.educandoweb.course.entities.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money {
+    public static final int SCALE = 2;
+
+    private Money() { }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long ofDecimal(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, (long) quantity);
+    }
+
+    // Writes cents as a plain decimal with SCALE fraction digits into the end of buffer and returns where it starts.
+    // Digits are taken from the negated value so Long.MIN_VALUE needs no special case.
+    public static int format(long cents, char[] buffer) {
+        long rest = cents > 0 ? -cents : cents;
+        int position = buffer.length;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' - rest % 10);
+            rest /= 10;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+
+    public static class Serializer extends JsonSerializer<Long> {
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[24]);
+
+        // JSON generators copy the digits straight from a per-thread buffer; binary formats (CBOR, Smile) and token buffers need a real decimal.
+        @Override
+        public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (!(generator instanceof JsonGeneratorImpl)) {
+                generator.writeNumber(toDecimal(cents));
+                return;
+            }
+            char[] buffer = BUFFER.get();
+            int start = format(cents, buffer);
+            generator.writeNumber(buffer, start, buffer.length - start);
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            try {
+                return ofDecimal(parser.getDecimalValue());
+            } catch (ArithmeticException e) {
+                return (Long) context.handleWeirdNumberValue(Long.class, parser.getNumberValue(), "amount out of range");
+            }
+        }
+    }
+}
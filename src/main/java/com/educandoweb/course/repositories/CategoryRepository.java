@@ -1,8 +1,25 @@
 package com.educandoweb.course.repositories;
 
 import com.educandoweb.course.entities.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Category> findByNameInOrderByIdAsc(Collection<String> names);
+
+    @Query("select c.id, c.version from Category c where c.id = :id")
+    List<Object[]> findVersionsById(Long id);
 
+    @Query("select c.id, c.version from Category c where c.id > :after order by c.id")
+    List<Object[]> findVersionsByIdGreaterThan(Long after, Pageable pageable);
 }
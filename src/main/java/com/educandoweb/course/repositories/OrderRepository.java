@@ -1,8 +1,68 @@
 package com.educandoweb.course.repositories;
 
+import com.educandoweb.course.dto.OrderExportRowDTO;
 import com.educandoweb.course.entities.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    @Query("select o.id from Order o where o.id > :after order by o.id")
+    List<Long> findIdsByIdGreaterThan(Long after, Pageable pageable);
+
+    @Query("select distinct o from Order o " +
+            "left join fetch o.client " +
+            "left join fetch o.payment " +
+            "left join fetch o.items i " +
+            "left join fetch i.id.product p " +
+            "left join fetch p.categories " +
+            "where o.id in :ids order by o.id")
+    List<Order> findWithDetailsByIdIn(Collection<Long> ids);
+
+    @Query("select o from Order o " +
+            "left join fetch o.client " +
+            "left join fetch o.payment " +
+            "left join fetch o.items i " +
+            "left join fetch i.id.product p " +
+            "left join fetch p.categories " +
+            "where o.id = :id")
+    Optional<Order> findWithDetailsById(Long id);
+
+    @Query("select coalesce(sum(o.total), 0) from Order o where o.client.id = :clientId")
+    Long sumTotalByClientId(Long clientId);
+
+    @Query("select coalesce(sum(o.total), 0) from Order o where o.moment >= :start and o.moment < :end")
+    Long sumTotalByMomentBetween(Instant start, Instant end);
+
+    @Query("select o.id, o.version, cl.id, cl.version, pm.id, pm.moment, i.quantity, i.price, p.id, p.version, c.id, c.version " +
+            "from Order o " +
+            "left join o.client cl " +
+            "left join o.payment pm " +
+            "left join o.items i " +
+            "left join i.id.product p " +
+            "left join p.categories c " +
+            "where o.id in :ids order by o.id, p.id, c.id")
+    List<Object[]> findVersionsByIdIn(Collection<Long> ids);
 
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.educandoweb.course.dto.OrderExportRowDTO(o.id, o.moment, o.orderStatus, cl.id, cl.name, cl.email, " +
+            "o.total, pm.moment, p.id, p.name, i.quantity, i.price) " +
+            "from Order o " +
+            "left join o.client cl " +
+            "left join o.payment pm " +
+            "left join o.items i " +
+            "left join i.id.product p " +
+            "where o.moment >= :start and o.moment < :end and (:status is null or o.orderStatus = :status) " +
+            "order by o.id, p.id")
+    Stream<OrderExportRowDTO> streamExportRows(Instant start, Instant end, Integer status);
 }
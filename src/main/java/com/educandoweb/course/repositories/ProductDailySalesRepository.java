@@ -0,0 +1,28 @@
+package com.educandoweb.course.repositories;
+
+import com.educandoweb.course.dto.SalesDTO;
+import com.educandoweb.course.entities.ProductDailySales;
+import com.educandoweb.course.entities.pk.ProductDailySalesPK;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductDailySalesRepository extends JpaRepository<ProductDailySales, ProductDailySalesPK> {
+    @Query("select new com.educandoweb.course.dto.SalesDTO(s.id.productId, sum(s.revenue), sum(s.units)) " +
+            "from ProductDailySales s where s.id.day between :start and :end " +
+            "group by s.id.productId order by sum(s.revenue) desc")
+    List<SalesDTO> sumByProduct(LocalDate start, LocalDate end);
+
+    @Query("select new com.educandoweb.course.dto.SalesDTO(c.id, sum(s.revenue), sum(s.units)) " +
+            "from ProductDailySales s, Product p join p.categories c " +
+            "where p.id = s.id.productId and s.id.day between :start and :end " +
+            "group by c.id order by sum(s.revenue) desc")
+    List<SalesDTO> sumByCategory(LocalDate start, LocalDate end);
+
+    @Query("select new com.educandoweb.course.dto.SalesDTO(s.id.day, sum(s.revenue), sum(s.units)) " +
+            "from ProductDailySales s where s.id.day between :start and :end " +
+            "group by s.id.day order by s.id.day")
+    List<SalesDTO> sumByDay(LocalDate start, LocalDate end);
+}
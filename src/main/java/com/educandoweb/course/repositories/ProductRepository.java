@@ -1,8 +1,41 @@
 package com.educandoweb.course.repositories;
 
+import com.educandoweb.course.dto.ProductDTO;
 import com.educandoweb.course.entities.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.educandoweb.course.dto.ProductDTO(p.id, p.version, p.name, p.description, p.price, p.imgUrl) from Product p where p.id > :after order by p.id")
+    List<ProductDTO> findDTOsByIdGreaterThan(Long after, Pageable pageable);
+
+    @Query("select new com.educandoweb.course.dto.ProductDTO(p.id, p.version, p.name, p.description, p.price, p.imgUrl) from Product p where p.id in :ids order by p.id")
+    List<ProductDTO> findDTOsByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("select p.id, c.id, c.version, c.name from Product p join p.categories c where p.id in :ids order by p.id, c.id")
+    List<Object[]> findCategoriesByIdIn(Collection<Long> ids);
+
+    @Query("select p.id from Product p where p.id > :after order by p.id")
+    List<Long> findIdsByIdGreaterThan(Long after, Pageable pageable);
+
+    @Query("select distinct p from Product p left join fetch p.categories where p.id in :ids")
+    List<Product> findWithCategoriesByIdIn(Collection<Long> ids);
+
+    @Query("select distinct p from Product p left join fetch p.categories where p.name in :names order by p.id")
+    List<Product> findWithCategoriesByNameIn(Collection<String> names);
 
+    @Query("select p.id, p.version, c.id, c.version from Product p left join p.categories c where p.id in :ids order by p.id, c.id")
+    List<Object[]> findVersionsByIdIn(Collection<Long> ids);
 }
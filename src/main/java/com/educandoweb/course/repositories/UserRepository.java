@@ -1,8 +1,20 @@
 package com.educandoweb.course.repositories;
 
+import com.educandoweb.course.dto.UserDTO;
 import com.educandoweb.course.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Query("select new com.educandoweb.course.dto.UserDTO(u.id, u.version, u.name, u.email, u.phone) from User u where u.id > :after order by u.id")
+    List<UserDTO> findDTOsByIdGreaterThan(Long after, Pageable pageable);
+
+    @Query("select u.id, u.version from User u where u.id = :id")
+    List<Object[]> findVersionsById(Long id);
 
+    @Query("select u.id, u.version from User u where u.id > :after order by u.id")
+    List<Object[]> findVersionsByIdGreaterThan(Long after, Pageable pageable);
 }
@@ -1,14 +1,26 @@
 package com.educandoweb.course.resources;
 
 import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.resources.util.AsyncTimeouts;
+import com.educandoweb.course.resources.util.Cursors;
+import com.educandoweb.course.resources.util.ETags;
+import com.educandoweb.course.resources.util.JsonStreams;
 import com.educandoweb.course.services.CategoryService;
+import com.educandoweb.course.services.util.Keyset;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -17,17 +29,67 @@ public class CategoryResource {
 
     @Autowired
     private CategoryService service;
+    @Autowired
+    private ObjectMapper mapper;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${app.pagination.stream-timeout}")
+    private Duration streamTimeout;
 
     @GetMapping
-    public ResponseEntity<List<Category>> findAll() {
-        List<Category> list = service.findAll();
+    public ResponseEntity<List<Category>> findAll(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer size,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findPageVersions(after, size));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<Category> list = service.findPage(after, size);
+
+        return ResponseEntity.ok().eTag(ETags.of(versions(list))).headers(Cursors.next(list, Keyset.pageSize(size, maxPageSize), Category::getId)).body(list);
+    }
 
-        return ResponseEntity.ok().body(list);
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        AsyncTimeouts.apply(streamTimeout);
+        StreamingResponseBody body = JsonStreams.array(mapper, service::forEach);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Category> findById(@PathVariable Long id) {
+    public ResponseEntity<Category> findById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findVersions(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Category category = service.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(versions(List.of(category)))).body(category);
+    }
+
+    @PostMapping
+    public ResponseEntity<Category> insert(@RequestBody Category category) {
+        category = service.insert(category);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(category.getId()).toUri();
+        return ResponseEntity.created(uri).body(category);
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping(value = "/{id}")
+    public ResponseEntity<Category> update(@PathVariable Long id, @RequestBody Category category) {
+        category = service.update(id, category);
         return ResponseEntity.ok().body(category);
     }
+
+    // Same rows as the version queries, taken from what is actually serialized.
+    private static List<Object[]> versions(List<Category> categories) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Category category : categories) {
+            rows.add(new Object[]{category.getId(), category.getVersion()});
+        }
+        return rows;
+    }
 }
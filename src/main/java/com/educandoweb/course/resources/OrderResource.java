@@ -1,33 +1,202 @@
 package com.educandoweb.course.resources;
 
-import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.PlacementDTO;
+import com.educandoweb.course.entities.*;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.util.Money;
+import com.educandoweb.course.resources.util.AsyncTimeouts;
+import com.educandoweb.course.resources.util.Cursors;
+import com.educandoweb.course.resources.util.ETags;
+import com.educandoweb.course.resources.util.JsonStreams;
+import com.educandoweb.course.resources.util.OrderExports;
+import com.educandoweb.course.services.OrderPlacementService;
 import com.educandoweb.course.services.OrderService;
+import com.educandoweb.course.services.OrderStreamService;
+import com.educandoweb.course.services.PaymentService;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import com.educandoweb.course.services.util.Keyset;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 @RestController
 @RequestMapping(value = "/orders")
 public class OrderResource {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
 
     @Autowired
     private OrderService service;
+    @Autowired
+    private OrderPlacementService placementService;
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private OrderStreamService streamService;
+    @Autowired
+    private ObjectMapper mapper;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${app.pagination.stream-timeout}")
+    private Duration streamTimeout;
 
     @GetMapping
-    public ResponseEntity<List<Order>> findAll() {
-        List<Order> list = service.findAll();
+    public ResponseEntity<List<Order>> findAll(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer size,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findPageVersions(after, size));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<Order> list = service.findPage(after, size);
+
+        return ResponseEntity.ok().eTag(ETags.of(versions(list))).headers(Cursors.next(list, Keyset.pageSize(size, maxPageSize), Order::getId)).body(list);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        AsyncTimeouts.apply(streamTimeout);
+        StreamingResponseBody body = JsonStreams.array(mapper, service::forEach);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        return ResponseEntity.ok().body(list);
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> changes(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                              @RequestParam(required = false) Long after) {
+        SseEmitter emitter = streamService.subscribe(lastEventId != null ? lastEventId : after);
+        return ResponseEntity.ok().body(emitter);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+                                                        @RequestParam(required = false) OrderStatus status,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Export start must be before end");
+        }
+        AsyncTimeouts.apply(streamTimeout);
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format) {
+            case "ndjson" -> {
+                body = OrderExports.ndjson(mapper, rows -> service.export(start, end, status, rows));
+                contentType = NDJSON;
+            }
+            case "csv" -> {
+                body = OrderExports.csv(rows -> service.export(start, end, status, rows));
+                contentType = CSV;
+            }
+            default -> throw new ValidationException("Unsupported export format: " + format);
+        }
+        ContentDisposition disposition = ContentDisposition.attachment().filename("orders." + format).build();
+        return ResponseEntity.ok().contentType(contentType).header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString()).body(body);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Order> findById(@PathVariable Long id) {
+    public ResponseEntity<Order> findById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findVersions(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Order order = service.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(versions(List.of(order)))).body(order);
+    }
+
+    @GetMapping(value = "/total", params = "clientId")
+    public ResponseEntity<BigDecimal> totalByClient(@RequestParam Long clientId) {
+        BigDecimal total = Money.toDecimal(service.sumTotalByClient(clientId));
+        return ResponseEntity.ok().body(total);
+    }
+
+    @GetMapping(value = "/total", params = {"start", "end"})
+    public ResponseEntity<BigDecimal> totalByPeriod(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        BigDecimal total = Money.toDecimal(service.sumTotalByPeriod(start, end));
+        return ResponseEntity.ok().body(total);
+    }
+
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<Long>> insertAll(@RequestBody List<OrderDTO> orders) {
+        List<Long> ids = service.insertAll(orders);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
+    @PostMapping
+    public ResponseEntity<PlacementDTO> place(@RequestBody OrderDTO order) {
+        PlacementDTO placement = placementService.place(order);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/placements/{ticket}").buildAndExpand(placement.getTicket()).toUri();
+        return ResponseEntity.accepted().location(uri).body(placement);
+    }
+
+    @GetMapping(value = "/placements/{ticket}")
+    public ResponseEntity<PlacementDTO> findPlacement(@PathVariable String ticket) {
+        PlacementDTO placement = placementService.findStatus(ticket);
+        return ResponseEntity.ok().body(placement);
+    }
+
+    @PostMapping(value = "/{id}/payment")
+    public ResponseEntity<Order> pay(@PathVariable Long id) {
+        Order order = paymentService.pay(id, Instant.now());
         return ResponseEntity.ok().body(order);
     }
+
+    @PutMapping(value = "/{id}/status")
+    public ResponseEntity<Order> updateStatus(@PathVariable Long id, @RequestBody OrderStatus status) {
+        Order order = paymentService.updateStatus(id, status);
+        return ResponseEntity.ok().body(order);
+    }
+
+    // Same rows as the version query (order, client, payment, item, product, category; ordered by ids),
+    // taken from what is actually serialized.
+    private static List<Object[]> versions(List<Order> orders) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Order order : orders) {
+            User client = order.getClient();
+            Payment payment = order.getPayment();
+            Object[] head = {order.getId(), order.getVersion(), client != null ? client.getId() : null, client != null ? client.getVersion() : null,
+                    payment != null ? payment.getId() : null, payment != null ? payment.getMoment() : null};
+            List<OrderItem> items = order.getItems().stream().sorted(Comparator.comparing(item -> item.getProduct().getId())).toList();
+            if (items.isEmpty()) {
+                rows.add(row(head, null, null, null, null, null, null));
+            }
+            for (OrderItem item : items) {
+                Product product = item.getProduct();
+                List<Category> categories = product.getCategories().stream().sorted(Comparator.comparing(Category::getId)).toList();
+                if (categories.isEmpty()) {
+                    rows.add(row(head, item.getQuantity(), item.getPrice(), product.getId(), product.getVersion(), null, null));
+                }
+                for (Category category : categories) {
+                    rows.add(row(head, item.getQuantity(), item.getPrice(), product.getId(), product.getVersion(), category.getId(), category.getVersion()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Object[] row(Object[] head, Object... tail) {
+        Object[] row = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, row, head.length, tail.length);
+        return row;
+    }
 }
@@ -1,15 +1,37 @@
 package com.educandoweb.course.resources;
 
+import com.educandoweb.course.dto.CategoryDTO;
+import com.educandoweb.course.dto.FacetPageDTO;
+import com.educandoweb.course.dto.ImportReportDTO;
+import com.educandoweb.course.dto.ProductDTO;
+import com.educandoweb.course.entities.Category;
 import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.resources.util.AsyncTimeouts;
+import com.educandoweb.course.resources.util.Cursors;
+import com.educandoweb.course.resources.util.ETags;
+import com.educandoweb.course.resources.util.JsonStreams;
 import com.educandoweb.course.services.ProductService;
+import com.educandoweb.course.services.imports.CatalogImportService;
+import com.educandoweb.course.services.util.Keyset;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -17,17 +39,112 @@ public class ProductResource {
 
     @Autowired
     private ProductService service;
+    @Autowired
+    private CatalogImportService importService;
+    @Autowired
+    private ObjectMapper mapper;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${app.pagination.stream-timeout}")
+    private Duration streamTimeout;
 
     @GetMapping
-    public ResponseEntity<List<Product>> findAll() {
-        List<Product> list = service.findAll();
+    public ResponseEntity<List<ProductDTO>> findAll(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer size,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findPageVersions(after, size));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<ProductDTO> list = service.findPage(after, size);
+
+        return ResponseEntity.ok().eTag(ETags.of(versions(list))).headers(Cursors.next(list, Keyset.pageSize(size, maxPageSize), ProductDTO::getId)).body(list);
+    }
+
+    @GetMapping(params = "categories")
+    public ResponseEntity<FacetPageDTO> findByCategories(@RequestParam Set<Long> categories, @RequestParam(defaultValue = "all") String match,
+                                                         @RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer size) {
+        FacetPageDTO page = service.findByCategories(categories, match, after, size);
+        return ResponseEntity.ok().headers(Cursors.next(page.getProducts(), Keyset.pageSize(size, maxPageSize), ProductDTO::getId)).body(page);
+    }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        AsyncTimeouts.apply(streamTimeout);
+        StreamingResponseBody body = JsonStreams.array(mapper, service::forEach);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<Product>> search(@RequestParam String q, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer limit) {
+        List<Product> list = service.search(q, limit);
         return ResponseEntity.ok().body(list);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Product> findById(@PathVariable Long id) {
+    public ResponseEntity<Product> findById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findVersions(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Product product = service.findById(id);
+        return ResponseEntity.ok().eTag(ETags.of(versions(product))).body(product);
+    }
+
+    @PostMapping
+    public ResponseEntity<Product> insert(@RequestBody Product product) {
+        product = service.insert(product);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(product.getId()).toUri();
+        return ResponseEntity.created(uri).body(product);
+    }
+
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<Long>> insertAll(@RequestBody List<Product> products) {
+        List<Long> ids = service.insertAll(products);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) throws IOException {
+        ImportReportDTO report = importService.importCsv(body);
+        return ResponseEntity.ok().body(report);
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping(value = "/{id}")
+    public ResponseEntity<Product> update(@PathVariable Long id, @RequestBody Product product) {
+        product = service.update(id, product);
         return ResponseEntity.ok().body(product);
     }
+
+    // Same rows as the version queries (product, category; ordered by ids), taken from what is actually serialized.
+    private static List<Object[]> versions(List<ProductDTO> products) {
+        List<Object[]> rows = new ArrayList<>();
+        for (ProductDTO product : products) {
+            List<CategoryDTO> categories = product.getCategories().stream().sorted(Comparator.comparing(CategoryDTO::getId)).toList();
+            if (categories.isEmpty()) {
+                rows.add(new Object[]{product.getId(), product.getVersion(), null, null});
+            }
+            for (CategoryDTO category : categories) {
+                rows.add(new Object[]{product.getId(), product.getVersion(), category.getId(), category.getVersion()});
+            }
+        }
+        return rows;
+    }
+
+    private static List<Object[]> versions(Product product) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Category> categories = product.getCategories().stream().sorted(Comparator.comparing(Category::getId)).toList();
+        if (categories.isEmpty()) {
+            rows.add(new Object[]{product.getId(), product.getVersion(), null, null});
+        }
+        for (Category category : categories) {
+            rows.add(new Object[]{product.getId(), product.getVersion(), category.getId(), category.getVersion()});
+        }
+        return rows;
+    }
 }
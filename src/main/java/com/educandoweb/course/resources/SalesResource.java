@@ -0,0 +1,43 @@
+package com.educandoweb.course.resources;
+
+import com.educandoweb.course.dto.SalesDTO;
+import com.educandoweb.course.services.SalesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/sales")
+public class SalesResource {
+
+    @Autowired
+    private SalesService service;
+
+    @GetMapping(value = "/products")
+    public ResponseEntity<List<SalesDTO>> byProduct(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        List<SalesDTO> list = service.findByProduct(start, end);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(value = "/categories")
+    public ResponseEntity<List<SalesDTO>> byCategory(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        List<SalesDTO> list = service.findByCategory(start, end);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(value = "/days")
+    public ResponseEntity<List<SalesDTO>> byDay(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        List<SalesDTO> list = service.findByDay(start, end);
+        return ResponseEntity.ok().body(list);
+    }
+}
@@ -1,13 +1,27 @@
 package com.educandoweb.course.resources;
 
+import com.educandoweb.course.dto.UserDTO;
 import com.educandoweb.course.entities.User;
+import com.educandoweb.course.resources.util.AsyncTimeouts;
+import com.educandoweb.course.resources.util.Cursors;
+import com.educandoweb.course.resources.util.ETags;
+import com.educandoweb.course.resources.util.JsonStreams;
 import com.educandoweb.course.services.UserService;
+import com.educandoweb.course.services.util.Keyset;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -16,18 +30,40 @@ public class UserResource {
 
     @Autowired
     private UserService service;
+    @Autowired
+    private ObjectMapper mapper;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${app.pagination.stream-timeout}")
+    private Duration streamTimeout;
 
     @GetMapping
-    public ResponseEntity<List<User>> findAll() {
-        List<User> list = service.findAll();
+    public ResponseEntity<List<UserDTO>> findAll(@RequestParam(defaultValue = "0") Long after, @RequestParam(defaultValue = "${app.pagination.default-size}") Integer size,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findPageVersions(after, size));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<UserDTO> list = service.findPage(after, size);
+
+        return ResponseEntity.ok().eTag(ETags.of(versions(list))).headers(Cursors.next(list, Keyset.pageSize(size, maxPageSize), UserDTO::getId)).body(list);
+    }
 
-        return ResponseEntity.ok().body(list);
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        AsyncTimeouts.apply(streamTimeout);
+        StreamingResponseBody body = JsonStreams.array(mapper, service::forEach);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<User> findById(@PathVariable Long id) {
+    public ResponseEntity<User> findById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(service.findVersions(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         User user = service.findById(id);
-        return ResponseEntity.ok().body(user);
+        return ResponseEntity.ok().eTag(ETags.of(versions(List.of(new UserDTO(user))))).body(user);
     }
 
     @PostMapping
@@ -37,6 +73,12 @@ public class UserResource {
         return ResponseEntity.created(uri).body(user);
     }
 
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<Long>> insertAll(@RequestBody List<User> users) {
+        List<Long> ids = service.insertAll(users);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
@@ -48,4 +90,13 @@ public class UserResource {
         user = service.update(id, user);
         return ResponseEntity.ok().body(user);
     }
+
+    // Same rows as the version queries, taken from what is actually serialized.
+    private static List<Object[]> versions(List<UserDTO> users) {
+        List<Object[]> rows = new ArrayList<>();
+        for (UserDTO user : users) {
+            rows.add(new Object[]{user.getId(), user.getVersion()});
+        }
+        return rows;
+    }
 }
@@ -1,22 +1,35 @@
 package com.educandoweb.course.resources.exceptions;
 
 import com.educandoweb.course.services.exceptions.DatabaseException;
+import com.educandoweb.course.services.exceptions.IdempotencyKeyMismatchException;
+import com.educandoweb.course.services.exceptions.InvalidStatusTransitionException;
 import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import com.educandoweb.course.services.exceptions.TooManyRequestsException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.time.Instant;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
+    @Autowired
+    private MeterRegistry registry;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<StandardError> resourceNotFound(ResourceNotFoundException e, HttpServletRequest request) {
         String error = "Resource not found";
         HttpStatus status = HttpStatus.NOT_FOUND;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
         return ResponseEntity.status(status).body(err);
     }
 
@@ -25,6 +38,60 @@ public class ResourceExceptionHandler {
         String error = "Database error";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<StandardError> validation(ValidationException e, HttpServletRequest request) {
+        String error = "Validation error";
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<StandardError> invalidStatusTransition(InvalidStatusTransitionException e, HttpServletRequest request) {
+        String error = "Invalid status transition";
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<StandardError> idempotencyKeyMismatch(IdempotencyKeyMismatchException e, HttpServletRequest request) {
+        String error = "Idempotency key reused";
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
         return ResponseEntity.status(status).body(err);
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+        String error = "Service unavailable";
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).body(err);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<StandardError> tooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+        String error = "Too many requests";
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        count(e, status, request);
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).body(err);
+    }
+
+    private void count(Exception e, HttpStatus status, HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        registry.counter("http.server.errors",
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value()),
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN").increment();
+    }
 }
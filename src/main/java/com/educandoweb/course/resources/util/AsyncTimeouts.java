@@ -0,0 +1,28 @@
+package com.educandoweb.course.resources.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+public final class AsyncTimeouts {
+    private AsyncTimeouts() { }
+
+    // StreamingResponseBody carries no timeout of its own, so this sets one on the current request just before it goes async.
+    public static void apply(Duration timeout) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(AsyncTimeouts.class, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.educandoweb.course.resources.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class Cursors {
+    private Cursors() { }
+
+    // Only a full page can have rows after it, so a short page is the last and advertises no next link.
+    public static <T> HttpHeaders next(List<T> page, int size, Function<T, Long> id) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!page.isEmpty() && page.size() == size) {
+            Long last = id.apply(page.get(page.size() - 1));
+            String uri = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", last).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,32 @@
+package com.educandoweb.course.resources.util;
+
+import java.util.List;
+import java.util.Objects;
+
+public final class ETags {
+    private ETags() { }
+
+    public static String of(List<Object[]> versions) {
+        long hash = 0xcbf29ce484222325L;
+        for (Object[] row : versions) {
+            for (Object value : row) {
+                hash = (hash ^ Objects.hashCode(value)) * 0x100000001b3L;
+            }
+        }
+        return "W/\"" + Long.toHexString(hash) + "-" + versions.size() + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || Objects.equals(tag.startsWith("W/") ? tag.substring(2) : tag, opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
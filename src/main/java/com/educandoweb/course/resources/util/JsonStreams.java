@@ -0,0 +1,35 @@
+package com.educandoweb.course.resources.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public final class JsonStreams {
+    private JsonStreams() { }
+
+    public static <T> StreamingResponseBody array(ObjectMapper mapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                try {
+                    source.accept(item -> write(generator, item));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private static void write(JsonGenerator generator, Object item) {
+        try {
+            generator.writeObject(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.educandoweb.course.resources.util;
+
+import com.educandoweb.course.dto.OrderExportRowDTO;
+import com.educandoweb.course.entities.util.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public final class OrderExports {
+    private static final String CSV_HEADER = "orderId,moment,orderStatus,clientId,clientName,clientEmail,total,paymentMoment,productId,productName,quantity,price";
+
+    private OrderExports() { }
+
+    // One JSON object per line per order, with its items nested; rows arrive ordered by order id.
+    public static StreamingResponseBody ndjson(ObjectMapper mapper, Consumer<Consumer<OrderExportRowDTO>> source) {
+        return out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                Long[] current = {null};
+                try {
+                    source.accept(row -> {
+                        try {
+                            if (!row.getOrderId().equals(current[0])) {
+                                if (current[0] != null) {
+                                    endOrder(generator);
+                                }
+                                startOrder(generator, row);
+                                current[0] = row.getOrderId();
+                            }
+                            if (row.hasItem()) {
+                                writeItem(generator, row);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (current[0] != null) {
+                    endOrder(generator);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+
+    // One line per order item; orders without items get a single line with empty item columns.
+    public static StreamingResponseBody csv(Consumer<Consumer<OrderExportRowDTO>> source) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            try {
+                source.accept(row -> {
+                    try {
+                        writeRow(writer, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private static void startOrder(JsonGenerator generator, OrderExportRowDTO row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getOrderId());
+        generator.writeStringField("moment", format(row.getMoment()));
+        generator.writeStringField("orderStatus", row.getOrderStatus() != null ? row.getOrderStatus().name() : null);
+        generator.writeObjectFieldStart("client");
+        if (row.getClientId() != null) {
+            generator.writeNumberField("id", row.getClientId());
+        }
+        generator.writeStringField("name", row.getClientName());
+        generator.writeStringField("email", row.getClientEmail());
+        generator.writeEndObject();
+        generator.writeNumberField("total", Money.toDecimal(row.getTotal()));
+        generator.writeStringField("paymentMoment", format(row.getPaymentMoment()));
+        generator.writeArrayFieldStart("items");
+    }
+
+    private static void writeItem(JsonGenerator generator, OrderExportRowDTO row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("productId", row.getProductId());
+        generator.writeStringField("productName", row.getProductName());
+        generator.writeNumberField("quantity", row.getQuantity());
+        generator.writeNumberField("price", Money.toDecimal(row.getPrice()));
+        generator.writeEndObject();
+    }
+
+    private static void endOrder(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeRow(Writer writer, OrderExportRowDTO row) throws IOException {
+        writer.write(String.valueOf(row.getOrderId()));
+        writer.write(',');
+        writer.write(Objects.toString(row.getMoment(), ""));
+        writer.write(',');
+        writer.write(row.getOrderStatus() != null ? row.getOrderStatus().name() : "");
+        writer.write(',');
+        writer.write(Objects.toString(row.getClientId(), ""));
+        writer.write(',');
+        writer.write(escape(row.getClientName()));
+        writer.write(',');
+        writer.write(escape(row.getClientEmail()));
+        writer.write(',');
+        writer.write(Money.toDecimal(row.getTotal()).toPlainString());
+        writer.write(',');
+        writer.write(Objects.toString(row.getPaymentMoment(), ""));
+        writer.write(',');
+        if (row.hasItem()) {
+            writer.write(row.getProductId().toString());
+            writer.write(',');
+            writer.write(escape(row.getProductName()));
+            writer.write(',');
+            writer.write(row.getQuantity().toString());
+            writer.write(',');
+            writer.write(Money.toDecimal(row.getPrice()).toPlainString());
+        } else {
+            writer.write(",,,");
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String format(Instant moment) {
+        return moment != null ? moment.toString() : null;
+    }
+}
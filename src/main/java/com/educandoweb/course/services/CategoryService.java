@@ -2,23 +2,110 @@ package com.educandoweb.course.services;
 
 import com.educandoweb.course.entities.Category;
 import com.educandoweb.course.repositories.CategoryRepository;
+import com.educandoweb.course.services.events.CategoryChangedEvent;
+import com.educandoweb.course.services.exceptions.DatabaseException;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.util.Keyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class CategoryService {
     @Autowired
     private CategoryRepository repository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
 
+    @Transactional(readOnly = true)
     public List<Category> findAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<Category> findPage(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        return repository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Category> action) {
+        Keyset.forEach(this::findPage, maxPageSize, Category::getId, entityManager::clear, action);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findVersions(Long id) {
+        List<Object[]> versions = repository.findVersionsById(id);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return versions;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findPageVersions(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        return repository.findVersionsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+    }
+
+    @Transactional(readOnly = true)
     public Category findById(Long id) {
         Optional<Category> optionalCategory = repository.findById(id);
-        return optionalCategory.get();
+        return optionalCategory.orElseThrow(() -> new ResourceNotFoundException(id));
+    }
+
+    @Transactional
+    public Category insert(Category category) {
+        category = repository.save(category);
+        publisher.publishEvent(new CategoryChangedEvent(category.getId(), category));
+        return category;
+    }
+
+    public void delete(Long id) {
+        if (id != null) {
+            try {
+                repository.deleteById(id);
+                publisher.publishEvent(new CategoryChangedEvent(id, null));
+            } catch (EmptyResultDataAccessException e) {
+                throw new ResourceNotFoundException(id);
+            } catch (DataIntegrityViolationException e) {
+                throw new DatabaseException(e.getMessage());
+            }
+        } else {
+            throw new NullPointerException();
+        }
+    }
+
+    @Transactional
+    public Category update(Long id, Category category) {
+        try {
+            Category entity = repository.getReferenceById(id);
+            updateData(entity, category);
+            entity = repository.save(entity);
+            publisher.publishEvent(new CategoryChangedEvent(id, entity));
+            return entity;
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException(id);
+        }
+    }
+
+    private void updateData(Category entity, Category category) {
+        entity.setName(category.getName());
     }
 }
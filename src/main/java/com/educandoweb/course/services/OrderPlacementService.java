@@ -0,0 +1,170 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.dto.PlacementDTO;
+import com.educandoweb.course.dto.PlacementStatus;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderPlacementService {
+    private static final Logger log = LoggerFactory.getLogger(OrderPlacementService.class);
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private MeterRegistry registry;
+    @Value("${app.orders.placement.queue-capacity}")
+    private int queueCapacity;
+    @Value("${app.orders.placement.batch-size}")
+    private int batchSize;
+    @Value("${app.orders.placement.status-retention}")
+    private int statusRetention;
+
+    private BlockingQueue<Placement> queue;
+    private final Map<String, PlacementDTO> statuses = new ConcurrentHashMap<>();
+    private final Deque<String> finished = new ArrayDeque<>();
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        registry.gauge("orders.placement.queue", queue, Collection::size);
+        running = true;
+        writer = new Thread(this::drain, "order-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public PlacementDTO place(OrderDTO dto) {
+        validate(dto);
+        PlacementDTO accepted = new PlacementDTO(UUID.randomUUID().toString(), PlacementStatus.QUEUED, Instant.now(), null, null);
+        statuses.put(accepted.getTicket(), accepted);
+        if (!queue.offer(new Placement(accepted, dto))) {
+            statuses.remove(accepted.getTicket());
+            throw new ServiceUnavailableException("Order queue is full, try again later");
+        }
+        return accepted;
+    }
+
+    public PlacementDTO findStatus(String ticket) {
+        PlacementDTO status = statuses.get(ticket);
+        if (status == null) {
+            throw new ResourceNotFoundException(ticket);
+        }
+        return status;
+    }
+
+    private void validate(OrderDTO dto) {
+        if (dto.getClientId() == null) {
+            throw new ValidationException("Order must have a client");
+        }
+        if (dto.getItems() == null || dto.getItems().isEmpty()) {
+            throw new ValidationException("Order must have at least one item");
+        }
+        for (OrderItemDTO item : dto.getItems()) {
+            if (item.getProductId() == null) {
+                throw new ValidationException("Order item must have a product");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new ValidationException("Order item quantity must be positive");
+            }
+            if (item.getPrice() != null && item.getPrice() < 0) {
+                throw new ValidationException("Order item price must not be negative");
+            }
+        }
+        OrderService.validateInitialStatus(dto);
+        if (!userRepository.existsById(dto.getClientId())) {
+            throw new ResourceNotFoundException(dto.getClientId());
+        }
+        Set<Long> productIds = dto.getItems().stream().map(OrderItemDTO::getProductId).collect(Collectors.toSet());
+        Set<Long> found = productRepository.findAllById(productIds).stream().map(Product::getId).collect(Collectors.toSet());
+        for (Long id : productIds) {
+            if (!found.contains(id)) {
+                throw new ResourceNotFoundException(id);
+            }
+        }
+    }
+
+    private void drain() {
+        List<Placement> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Placement first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Placement> batch) {
+        try {
+            List<Long> ids = orderService.insertAll(batch.stream().map(Placement::order).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                finish(batch.get(i), PlacementStatus.PLACED, ids.get(i), null);
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("Order placement {} failed", batch.get(0).accepted().getTicket(), e);
+                finish(batch.get(0), PlacementStatus.FAILED, null, e.getMessage());
+                return;
+            }
+            for (Placement placement : batch) {
+                write(List.of(placement));
+            }
+        }
+    }
+
+    private void finish(Placement placement, PlacementStatus status, Long orderId, String message) {
+        PlacementDTO accepted = placement.accepted();
+        statuses.put(accepted.getTicket(), new PlacementDTO(accepted.getTicket(), status, accepted.getAcceptedAt(), orderId, message));
+        finished.addLast(accepted.getTicket());
+        while (finished.size() > statusRetention) {
+            statuses.remove(finished.removeFirst());
+        }
+    }
+
+    private record Placement(PlacementDTO accepted, OrderDTO order) {
+    }
+}
@@ -1,24 +1,179 @@
 package com.educandoweb.course.services;
 
-import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderExportRowDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.entities.*;
+import com.educandoweb.course.entities.enums.OrderStatus;
 import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.events.OrderChangedEvent;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import com.educandoweb.course.services.util.Keyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
     @Autowired
     private OrderRepository repository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
 
+    @Transactional(readOnly = true)
     public List<Order> findAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<Order> findPage(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        List<Long> ids = repository.findIdsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+        return ids.isEmpty() ? List.of() : repository.findWithDetailsByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Order> action) {
+        Keyset.forEach(this::findPage, maxPageSize, Order::getId, entityManager::clear, action);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Instant start, Instant end, OrderStatus status, Consumer<OrderExportRowDTO> action) {
+        try (Stream<OrderExportRowDTO> rows = repository.streamExportRows(start, end, status != null ? status.getCode() : null)) {
+            rows.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findVersions(Long id) {
+        List<Object[]> versions = repository.findVersionsByIdIn(List.of(id));
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return versions;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findPageVersions(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        List<Long> ids = repository.findIdsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+        return ids.isEmpty() ? List.of() : repository.findVersionsByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
     public Order findById(Long id) {
-        Optional<Order> optionalOrder = repository.findById(id);
-        return optionalOrder.get();
+        return repository.findWithDetailsById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+    }
+
+    @Transactional
+    public List<Long> insertAll(List<OrderDTO> dtos) {
+        Set<Long> clientIds = dtos.stream().map(OrderDTO::getClientId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> productIds = dtos.stream().flatMap(dto -> dto.getItems().stream()).map(OrderItemDTO::getProductId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, User> clients = userRepository.findAllById(clientIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Long> ids = new ArrayList<>(dtos.size());
+        List<OrderItem> items = new ArrayList<>();
+        int pending = 0;
+        for (OrderDTO dto : dtos) {
+            Order order = fromDTO(dto, clients, products);
+            items.addAll(order.getItems());
+            pending += order.getItems().size() + 1;
+            ids.add(order.getId());
+            if (pending >= batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        salesService.record(items);
+        return ids;
+    }
+
+    // New orders start waiting payment, or already paid with a payment moment; later states are only reached through PaymentService.
+    static void validateInitialStatus(OrderDTO dto) {
+        OrderStatus status = dto.getOrderStatus() != null ? dto.getOrderStatus() : OrderStatus.WAITING_PAYMENT;
+        switch (status) {
+            case WAITING_PAYMENT -> {
+                if (dto.getPaymentMoment() != null) {
+                    throw new ValidationException("Order waiting payment must not have a payment moment");
+                }
+            }
+            case PAID -> {
+                if (dto.getPaymentMoment() == null) {
+                    throw new ValidationException("Paid order must have a payment moment");
+                }
+            }
+            default -> throw new ValidationException("Order cannot be created as " + status);
+        }
+    }
+
+    private Order fromDTO(OrderDTO dto, Map<Long, User> clients, Map<Long, Product> products) {
+        User client = clients.get(dto.getClientId());
+        if (client == null) {
+            throw new ResourceNotFoundException(dto.getClientId());
+        }
+        validateInitialStatus(dto);
+        Instant moment = dto.getMoment() != null ? dto.getMoment() : Instant.now();
+        OrderStatus status = dto.getOrderStatus() != null ? dto.getOrderStatus() : OrderStatus.WAITING_PAYMENT;
+        Order order = new Order(null, moment, status, client);
+
+        List<OrderItem> items = new ArrayList<>(dto.getItems().size());
+        for (OrderItemDTO itemDTO : dto.getItems()) {
+            Product product = products.get(itemDTO.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException(itemDTO.getProductId());
+            }
+            long price = itemDTO.getPrice() != null ? itemDTO.getPrice() : product.getPrice();
+            items.add(new OrderItem(order, product, itemDTO.getQuantity(), price));
+        }
+        if (dto.getPaymentMoment() != null) {
+            order.setPayment(new Payment(null, dto.getPaymentMoment(), order));
+        }
+
+        entityManager.persist(order);
+        for (OrderItem item : items) {
+            entityManager.persist(item);
+            order.getItems().add(item);
+        }
+        publisher.publishEvent(new OrderChangedEvent(order, null, moment));
+        return order;
+    }
+
+    @Transactional(readOnly = true)
+    public Long sumTotalByClient(Long clientId) {
+        return repository.sumTotalByClientId(clientId);
+    }
+
+    @Transactional(readOnly = true)
+    public Long sumTotalByPeriod(Instant start, Instant end) {
+        return repository.sumTotalByMomentBetween(start, end);
     }
 }
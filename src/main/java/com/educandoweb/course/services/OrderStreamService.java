@@ -0,0 +1,186 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.config.VirtualThreadConfig;
+import com.educandoweb.course.dto.OrderEventDTO;
+import com.educandoweb.course.services.events.OrderChangedEvent;
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class OrderStreamService {
+    public static final String RESET = "reset";
+
+    @Autowired
+    private MeterRegistry registry;
+    @Value("${app.orders.stream.buffer-size}")
+    private int bufferSize;
+    @Value("${app.orders.stream.max-subscribers}")
+    private int maxSubscribers;
+    @Value("${app.orders.stream.timeout}")
+    private Duration timeout;
+    @Value("${app.orders.stream.reconnect-delay}")
+    private Duration reconnectDelay;
+    @Value("${app.orders.stream.sender-threads}")
+    private int senderThreads;
+    @Value("${app.threads.virtual}")
+    private boolean virtualThreads;
+
+    private OrderEventDTO[] ring;
+    private long head;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService senders;
+
+    @PostConstruct
+    void start() {
+        ring = new OrderEventDTO[bufferSize];
+        registry.gaugeCollectionSize("orders.stream.subscribers", Tags.empty(), subscribers);
+        senders = virtualThreads ? VirtualThreadConfig.newVirtualThreadPerTaskExecutor() : newSenderPool();
+    }
+
+    // The queue never holds more than one task per subscriber, so only the thread count needs a bound.
+    private ExecutorService newSenderPool() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-stream-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        append(event);
+        subscribers.forEach(this::schedule);
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many order stream subscribers", reconnectDelay.toSeconds());
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null ? lastEventId : head());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public synchronized long head() {
+        return head;
+    }
+
+    // Events after the given sequence, or null when some of them have already been overwritten.
+    public synchronized List<OrderEventDTO> since(long after) {
+        long oldest = Math.max(1, head - bufferSize + 1);
+        if (after > head || after < oldest - 1) {
+            return null;
+        }
+        List<OrderEventDTO> events = new ArrayList<>((int) (head - after));
+        for (long sequence = after + 1; sequence <= head; sequence++) {
+            events.add(ring[(int) (sequence % bufferSize)]);
+        }
+        return events;
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.stream.heartbeat}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    private synchronized void append(OrderChangedEvent event) {
+        head++;
+        ring[(int) (head % bufferSize)] = new OrderEventDTO(head, event);
+    }
+
+    // At most one sender runs per subscriber, so a slow consumer holds one sender thread and never blocks publishers.
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.pending.getAndIncrement() == 0) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        int seen;
+        do {
+            seen = subscriber.pending.get();
+            try {
+                send(subscriber);
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        } while (subscriber.pending.addAndGet(-seen) != 0);
+    }
+
+    private void send(Subscriber subscriber) throws IOException {
+        List<OrderEventDTO> events = since(subscriber.cursor);
+        if (events == null) {
+            // The consumer fell behind the ring buffer: it must reload GET /orders and continue from the current head.
+            long current = head();
+            subscriber.emitter.send(SseEmitter.event().id(String.valueOf(current)).name(RESET).data(Map.of("head", current)));
+            subscriber.cursor = current;
+            return;
+        }
+        for (OrderEventDTO event : events) {
+            subscriber.emitter.send(SseEmitter.event().id(String.valueOf(event.getSequence())).name(event.getType()).data(event));
+            subscriber.cursor = event.getSequence();
+        }
+        if (subscriber.heartbeat.getAndSet(false) && events.isEmpty()) {
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+        private volatile long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
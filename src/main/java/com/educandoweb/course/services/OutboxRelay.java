@@ -0,0 +1,78 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.entities.OutboxEvent;
+import com.educandoweb.course.repositories.OutboxEventRepository;
+import com.educandoweb.course.services.events.OutboxMessage;
+import com.educandoweb.course.services.outbox.OutboxPublisher;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository repository;
+    @Autowired(required = false)
+    private OutboxPublisher publisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${app.outbox.batch-size}")
+    private int batchSize;
+
+    @PostConstruct
+    void init() {
+        if (publisher == null) {
+            log.warn("No outbox publisher configured, outbox events stay pending until app.outbox.webhook-url is set");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.relay-delay}", fixedDelayString = "${app.outbox.relay-delay}")
+    public synchronized void relay() {
+        if (publisher == null) {
+            return;
+        }
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    // Rows stay locked while they are delivered and are only marked once the publisher acknowledges them;
+    // the first failure ends the batch so later events are not delivered ahead of it.
+    private int relayBatch() {
+        List<OutboxEvent> events = repository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.ofSize(batchSize));
+        int published = 0;
+        for (OutboxEvent event : events) {
+            if (!deliver(event)) {
+                break;
+            }
+            event.setPublishedAt(Instant.now());
+            published++;
+        }
+        return published;
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            publisher.publish(new OutboxMessage(event));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Outbox event {} was not delivered", event.getId(), e);
+            return false;
+        }
+    }
+}
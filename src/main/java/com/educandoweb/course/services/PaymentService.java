@@ -0,0 +1,87 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OutboxEvent;
+import com.educandoweb.course.entities.Payment;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.util.Money;
+import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.OutboxEventRepository;
+import com.educandoweb.course.services.events.OrderChangedEvent;
+import com.educandoweb.course.services.exceptions.InvalidStatusTransitionException;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class PaymentService {
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Transactional
+    public Order pay(Long orderId, Instant moment) {
+        Order order = orderRepository.findWithDetailsById(orderId).orElseThrow(() -> new ResourceNotFoundException(orderId));
+        transition(order, OrderStatus.PAID, moment);
+        return order;
+    }
+
+    @Transactional
+    public Order updateStatus(Long orderId, OrderStatus status) {
+        Order order = orderRepository.findWithDetailsById(orderId).orElseThrow(() -> new ResourceNotFoundException(orderId));
+        transition(order, status, Instant.now());
+        return order;
+    }
+
+    private void transition(Order order, OrderStatus next, Instant moment) {
+        OrderStatus current = order.getOrderStatus();
+        if (!current.canTransitionTo(next)) {
+            throw new InvalidStatusTransitionException(current, next);
+        }
+        if (next == OrderStatus.PAID && order.getPayment() != null) {
+            throw new ValidationException("Order " + order.getId() + " already has a payment");
+        }
+        order.setOrderStatus(next);
+        if (next == OrderStatus.CANCELED) {
+            salesService.retract(order.getItems());
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("from", current);
+        payload.put("to", next);
+        payload.put("total", Money.toDecimal(order.getTotal()));
+        String type = "OrderStatusChanged";
+        if (next == OrderStatus.PAID) {
+            order.setPayment(new Payment(null, moment, order));
+            payload.put("paymentMoment", moment.toString());
+            type = "OrderPaid";
+        }
+        outboxRepository.save(new OutboxEvent("Order", order.getId(), type, write(payload), Instant.now()));
+        publisher.publishEvent(new OrderChangedEvent(order, current, moment));
+    }
+
+    private String write(Map<String, Object> payload) {
+        try {
+            return mapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,24 +1,202 @@
 package com.educandoweb.course.services;
 
+import com.educandoweb.course.dto.CategoryDTO;
+import com.educandoweb.course.dto.FacetPageDTO;
+import com.educandoweb.course.dto.ProductDTO;
+import com.educandoweb.course.entities.Category;
 import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.CategoryRepository;
 import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import com.educandoweb.course.services.exceptions.DatabaseException;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import com.educandoweb.course.services.search.CategoryFacetIndex;
+import com.educandoweb.course.services.search.ProductSearchIndex;
+import com.educandoweb.course.services.util.Keyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 public class ProductService {
     @Autowired
     private ProductRepository repository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    @Autowired
+    private CategoryFacetIndex facetIndex;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
 
+    @Transactional(readOnly = true)
     public List<Product> findAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductDTO> findPage(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        return withCategories(repository.findDTOsByIdGreaterThan(after, PageRequest.ofSize(pageSize)));
+    }
+
+    @Transactional(readOnly = true)
+    public FacetPageDTO findByCategories(Set<Long> categoryIds, String match, Long after, int size) {
+        if (!match.equals("all") && !match.equals("any")) {
+            throw new ValidationException("match must be all or any");
+        }
+        if (after < 0) {
+            throw new ValidationException("after must not be negative");
+        }
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        Roaring64Bitmap result = facetIndex.match(categoryIds, match.equals("all"));
+
+        List<Long> ids = new ArrayList<>(pageSize);
+        if (after < Long.MAX_VALUE) {
+            PeekableLongIterator iterator = result.getLongIteratorFrom(after + 1);
+            while (iterator.hasNext() && ids.size() < pageSize) {
+                ids.add(iterator.next());
+            }
+        }
+        List<ProductDTO> page = ids.isEmpty() ? List.of() : withCategories(repository.findDTOsByIdIn(ids));
+        return new FacetPageDTO(result.getLongCardinality(), facetIndex.counts(result), page);
+    }
+
+    private List<ProductDTO> withCategories(List<ProductDTO> page) {
+        if (!page.isEmpty()) {
+            Map<Long, ProductDTO> products = new HashMap<>();
+            page.forEach(product -> products.put(product.getId(), product));
+            for (Object[] row : repository.findCategoriesByIdIn(products.keySet())) {
+                products.get((Long) row[0]).getCategories().add(new CategoryDTO((Long) row[1], (Long) row[2], (String) row[3]));
+            }
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<ProductDTO> action) {
+        Keyset.forEach(this::findPage, maxPageSize, ProductDTO::getId, () -> { }, action);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findVersions(Long id) {
+        List<Object[]> versions = repository.findVersionsByIdIn(List.of(id));
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return versions;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findPageVersions(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        List<Long> ids = repository.findIdsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+        return ids.isEmpty() ? List.of() : repository.findVersionsByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
     public Product findById(Long id) {
         Optional<Product> optionalProduct = repository.findById(id);
-        return optionalProduct.get();
+        return optionalProduct.orElseThrow(() -> new ResourceNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Product> search(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, Keyset.pageSize(limit, maxPageSize));
+        // multiLoad only consults the second-level cache when given a cache mode; misses are fetched in one IN query, in rank order.
+        List<Product> products = entityManager.unwrap(Session.class).byMultipleIds(Product.class).with(CacheMode.NORMAL).multiLoad(ids);
+        return products.stream().filter(Objects::nonNull).toList();
+    }
+
+    @Transactional
+    public Product insert(Product product) {
+        copyCategories(product, product);
+        product = repository.save(product);
+        publisher.publishEvent(new ProductChangedEvent(product.getId(), product));
+        return product;
+    }
+
+    @Transactional
+    public List<Long> insertAll(List<Product> products) {
+        List<Long> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copyCategories(product, product);
+            product = repository.save(product);
+            publisher.publishEvent(new ProductChangedEvent(product.getId(), product));
+            ids.add(product.getId());
+            if (ids.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return ids;
+    }
+
+    public void delete(Long id) {
+        if (id != null) {
+            try {
+                repository.deleteById(id);
+                publisher.publishEvent(new ProductChangedEvent(id, null));
+            } catch (EmptyResultDataAccessException e) {
+                throw new ResourceNotFoundException(id);
+            } catch (DataIntegrityViolationException e) {
+                throw new DatabaseException(e.getMessage());
+            }
+        } else {
+            throw new NullPointerException();
+        }
+    }
+
+    @Transactional
+    public Product update(Long id, Product product) {
+        try {
+            Product entity = repository.getReferenceById(id);
+            updateData(entity, product);
+            entity = repository.save(entity);
+            publisher.publishEvent(new ProductChangedEvent(id, entity));
+            return entity;
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException(id);
+        }
+    }
+
+    private void updateData(Product entity, Product product) {
+        entity.setName(product.getName());
+        entity.setDescription(product.getDescription());
+        entity.setPrice(product.getPrice());
+        entity.setImgUrl(product.getImgUrl());
+        copyCategories(entity, product);
+    }
+
+    private void copyCategories(Product entity, Product product) {
+        List<Category> categories = product.getCategories().stream()
+                .map(category -> categoryRepository.findById(category.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException(category.getId())))
+                .toList();
+        entity.getCategories().clear();
+        entity.getCategories().addAll(categories);
     }
 }
@@ -0,0 +1,132 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.SalesDTO;
+import com.educandoweb.course.entities.OrderItem;
+import com.educandoweb.course.entities.ProductDailySales;
+import com.educandoweb.course.entities.pk.ProductDailySalesPK;
+import com.educandoweb.course.repositories.ProductDailySalesRepository;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SalesService {
+    // One statement per (day, product), so concurrent first sales add up instead of racing to insert.
+    private static final String ON_CONFLICT_UPSERT = "insert into product_daily_sales (sales_day, product_id, revenue, units) " +
+            "values (?, ?, ?, ?) on conflict (sales_day, product_id) do update " +
+            "set revenue = product_daily_sales.revenue + excluded.revenue, units = product_daily_sales.units + excluded.units";
+    private static final String MERGE_UPSERT = "merge into product_daily_sales t " +
+            "using (values (cast(? as date), cast(? as bigint), cast(? as bigint), cast(? as bigint))) " +
+            "s (sales_day, product_id, revenue, units) on t.sales_day = s.sales_day and t.product_id = s.product_id " +
+            "when matched then update set revenue = t.revenue + s.revenue, units = t.units + s.units " +
+            "when not matched then insert (sales_day, product_id, revenue, units) values (s.sales_day, s.product_id, s.revenue, s.units)";
+    private static final int MERGE_ATTEMPTS = 3;
+
+    @Autowired
+    private ProductDailySalesRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+    @Value("${app.sales.max-days}")
+    private long maxDays;
+
+    private boolean onConflict;
+
+    @PostConstruct
+    void init() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        onConflict = dialect instanceof PostgreSQLDialect;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<OrderItem> items) {
+        apply(items, 1);
+    }
+
+    // A canceled order is taken back out of the day it was placed on, so the rollup only counts orders still standing.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retract(Collection<OrderItem> items) {
+        apply(items, -1);
+    }
+
+    private void apply(Collection<OrderItem> items, int sign) {
+        Map<ProductDailySalesPK, ProductDailySales> deltas = new HashMap<>();
+        for (OrderItem item : items) {
+            LocalDate day = LocalDate.ofInstant(item.getOrder().getMoment(), ZoneOffset.UTC);
+            ProductDailySalesPK id = new ProductDailySalesPK(day, item.getProduct().getId());
+            ProductDailySales delta = deltas.computeIfAbsent(id, key -> new ProductDailySales(key, 0L, 0L));
+            delta.setRevenue(delta.getRevenue() + sign * item.getSubTotal());
+            delta.setUnits(delta.getUnits() + sign * item.getQuantity());
+        }
+        for (ProductDailySales delta : deltas.values()) {
+            upsert(delta);
+        }
+    }
+
+    // MERGE can still collide with a concurrent insert of the same key; the retry then takes the update branch.
+    private void upsert(ProductDailySales delta) {
+        ProductDailySalesPK id = delta.getId();
+        Object[] args = {id.getDay(), id.getProductId(), delta.getRevenue(), delta.getUnits()};
+        if (onConflict) {
+            jdbcTemplate.update(ON_CONFLICT_UPSERT, args);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(MERGE_UPSERT, args);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MERGE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesDTO> findByProduct(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        return repository.sumByProduct(start, end);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesDTO> findByCategory(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        return repository.sumByCategory(start, end);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesDTO> findByDay(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        return repository.sumByDay(start, end);
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new ValidationException("start must not be after end");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new ValidationException("range must not exceed " + maxDays + " days");
+        }
+    }
+}
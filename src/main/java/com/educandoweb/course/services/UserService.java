@@ -1,27 +1,70 @@
 package com.educandoweb.course.services;
 
+import com.educandoweb.course.dto.UserDTO;
 import com.educandoweb.course.entities.User;
 import com.educandoweb.course.repositories.UserRepository;
 import com.educandoweb.course.services.exceptions.DatabaseException;
 import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.util.Keyset;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
     @Autowired
     private UserRepository repository;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
 
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<UserDTO> findPage(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        return repository.findDTOsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<UserDTO> action) {
+        Keyset.forEach(this::findPage, maxPageSize, UserDTO::getId, () -> { }, action);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findVersions(Long id) {
+        List<Object[]> versions = repository.findVersionsById(id);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return versions;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> findPageVersions(Long after, int size) {
+        int pageSize = Keyset.pageSize(size, maxPageSize);
+        return repository.findVersionsByIdGreaterThan(after, PageRequest.ofSize(pageSize));
+    }
+
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         Optional<User> optionalUser = repository.findById(id);
         return optionalUser.orElseThrow(() -> new ResourceNotFoundException(id));
@@ -31,6 +74,19 @@ public class UserService {
         return repository.save(user);
     }
 
+    @Transactional
+    public List<Long> insertAll(List<User> users) {
+        List<Long> ids = new ArrayList<>(users.size());
+        for (User user : users) {
+            ids.add(repository.save(user).getId());
+            if (ids.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return ids;
+    }
+
     public void delete(Long id) {
         if (id != null) {
             try {
@@ -0,0 +1,19 @@
+package com.educandoweb.course.services.events;
+
+public class CatalogChangedEvent {
+    private final int products;
+    private final int categories;
+
+    public CatalogChangedEvent(int products, int categories) {
+        this.products = products;
+        this.categories = categories;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+}
@@ -0,0 +1,25 @@
+package com.educandoweb.course.services.events;
+
+import com.educandoweb.course.entities.Category;
+
+public class CategoryChangedEvent {
+    private final Long categoryId;
+    private final Category category;
+
+    public CategoryChangedEvent(Long categoryId, Category category) {
+        this.categoryId = categoryId;
+        this.category = category;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public boolean isDeleted() {
+        return category == null;
+    }
+}
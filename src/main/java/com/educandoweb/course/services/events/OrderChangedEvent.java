@@ -0,0 +1,52 @@
+package com.educandoweb.course.services.events;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.enums.OrderStatus;
+
+import java.time.Instant;
+
+public class OrderChangedEvent {
+    private final Long orderId;
+    private final Long clientId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus orderStatus;
+    private final long total;
+    private final Instant moment;
+
+    public OrderChangedEvent(Order order, OrderStatus previousStatus, Instant moment) {
+        this.orderId = order.getId();
+        this.clientId = order.getClient() != null ? order.getClient().getId() : null;
+        this.previousStatus = previousStatus;
+        this.orderStatus = order.getOrderStatus();
+        this.total = order.getTotal();
+        this.moment = moment;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.educandoweb.course.services.events;
+
+import com.educandoweb.course.entities.OutboxEvent;
+
+import java.time.Instant;
+
+public class OutboxMessage {
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String type;
+    private final String payload;
+    private final Instant createdAt;
+
+    public OutboxMessage(OutboxEvent event) {
+        this.id = event.getId();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.type = event.getType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,36 @@
+package com.educandoweb.course.services.events;
+
+import com.educandoweb.course.entities.Product;
+
+public class ProductChangedEvent {
+    private final Long productId;
+    private final Product product;
+    private final boolean batched;
+
+    public ProductChangedEvent(Long productId, Product product) {
+        this(productId, product, false);
+    }
+
+    // Batched events are followed by one CatalogChangedEvent for the whole batch.
+    public ProductChangedEvent(Long productId, Product product, boolean batched) {
+        this.productId = productId;
+        this.product = product;
+        this.batched = batched;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public boolean isBatched() {
+        return batched;
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.educandoweb.course.services.exceptions;
+
+import java.io.Serial;
+
+public class IdempotencyKeyMismatchException extends RuntimeException{
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency key " + key + " was already used with a different request body");
+    }
+}
@@ -0,0 +1,14 @@
+package com.educandoweb.course.services.exceptions;
+
+import com.educandoweb.course.entities.enums.OrderStatus;
+
+import java.io.Serial;
+
+public class InvalidStatusTransitionException extends RuntimeException{
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public InvalidStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Invalid status transition from " + from + " to " + to);
+    }
+}
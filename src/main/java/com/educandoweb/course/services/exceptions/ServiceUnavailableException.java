@@ -0,0 +1,23 @@
+package com.educandoweb.course.services.exceptions;
+
+import java.io.Serial;
+
+public class ServiceUnavailableException extends RuntimeException{
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String msg) {
+        this(msg, 1);
+    }
+
+    public ServiceUnavailableException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
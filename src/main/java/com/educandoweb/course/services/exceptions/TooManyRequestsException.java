@@ -0,0 +1,19 @@
+package com.educandoweb.course.services.exceptions;
+
+import java.io.Serial;
+
+public class TooManyRequestsException extends RuntimeException{
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
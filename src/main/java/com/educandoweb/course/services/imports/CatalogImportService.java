@@ -0,0 +1,239 @@
+package com.educandoweb.course.services.imports;
+
+import com.educandoweb.course.dto.ImportErrorDTO;
+import com.educandoweb.course.dto.ImportReportDTO;
+import com.educandoweb.course.entities.util.Money;
+import com.educandoweb.course.services.exceptions.ServiceUnavailableException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Service
+public class CatalogImportService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+    private static final Set<String> COLUMNS = Set.of("id", "name", "description", "price", "imgUrl", "categories");
+    private static final List<CatalogImportWriter.Row> END = List.of();
+
+    @Autowired
+    private CatalogImportWriter writer;
+    @Value("${app.catalog.import.batch-size}")
+    private int batchSize;
+    @Value("${app.catalog.import.queue-capacity}")
+    private int queueCapacity;
+    @Value("${app.catalog.import.max-errors}")
+    private int maxErrors;
+
+    private ExecutorService writers;
+
+    @PostConstruct
+    void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("catalog-import-");
+        threadFactory.setDaemon(true);
+        writers = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdownNow();
+    }
+
+    // The calling thread parses while a writer thread commits batches; the bounded queue keeps memory flat.
+    public ImportReportDTO importCsv(InputStream in) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        Map<String, Integer> columns = columns(reader.next());
+        Report report = new Report(maxErrors);
+        BlockingQueue<List<CatalogImportWriter.Row>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> writing = writers.submit(() -> drain(queue, report));
+        try {
+            List<CatalogImportWriter.Row> batch = new ArrayList<>(batchSize);
+            List<String> record;
+            while ((record = next(reader, report)) != null) {
+                report.row();
+                try {
+                    batch.add(parse(columns, record, reader.getLine()));
+                } catch (ValidationException e) {
+                    report.error(reader.getLine(), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    hand(queue, batch, writing);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                hand(queue, batch, writing);
+            }
+            hand(queue, END, writing);
+            writing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Catalog import was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Catalog import writer failed", e.getCause());
+        } finally {
+            writing.cancel(true);
+        }
+        ImportReportDTO result = report.toDTO();
+        log.info("Imported {} catalog rows: {} created, {} updated, {} failed", result.getRows(), result.getCreated(), result.getUpdated(), result.getFailed());
+        return result;
+    }
+
+    private Map<String, Integer> columns(List<String> header) {
+        if (header == null) {
+            throw new ValidationException("CSV file must start with a header");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (!COLUMNS.contains(column)) {
+                throw new ValidationException("Unknown CSV column: " + column);
+            }
+            if (columns.put(column, i) != null) {
+                throw new ValidationException("Duplicate CSV column: " + column);
+            }
+        }
+        if (!columns.containsKey("id") && !columns.containsKey("name")) {
+            throw new ValidationException("CSV header must have an id or a name column");
+        }
+        return columns;
+    }
+
+    private List<String> next(CsvReader reader, Report report) throws IOException {
+        try {
+            return reader.next();
+        } catch (CsvReader.CsvFormatException e) {
+            report.row();
+            report.error(e.getLine(), e.getMessage());
+            return null;
+        }
+    }
+
+    private CatalogImportWriter.Row parse(Map<String, Integer> columns, List<String> record, long line) {
+        if (record.size() != columns.size()) {
+            throw new ValidationException("Expected " + columns.size() + " columns but found " + record.size());
+        }
+        Long id = null;
+        String idValue = blankToNull(value(columns, record, "id"));
+        if (idValue != null) {
+            try {
+                id = Long.valueOf(idValue);
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Invalid id: " + idValue);
+            }
+        }
+        String name = blankToNull(value(columns, record, "name"));
+        if (id == null && name == null) {
+            throw new ValidationException("Product must have an id or a name");
+        }
+        Long price = null;
+        String priceValue = blankToNull(value(columns, record, "price"));
+        if (priceValue != null) {
+            try {
+                price = Money.ofDecimal(new BigDecimal(priceValue));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new ValidationException("Invalid price: " + priceValue);
+            }
+            if (price < 0) {
+                throw new ValidationException("Price must not be negative");
+            }
+        }
+        List<String> categories = null;
+        String categoriesValue = value(columns, record, "categories");
+        if (categoriesValue != null) {
+            categories = Arrays.stream(categoriesValue.split(";")).map(String::trim).filter(c -> !c.isEmpty()).distinct().toList();
+        }
+        return new CatalogImportWriter.Row(line, id, name, value(columns, record, "description"), price,
+                value(columns, record, "imgUrl"), categories);
+    }
+
+    private static String value(Map<String, Integer> columns, List<String> record, String column) {
+        Integer index = columns.get(column);
+        return index != null ? record.get(index) : null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private void hand(BlockingQueue<List<CatalogImportWriter.Row>> queue, List<CatalogImportWriter.Row> batch, Future<?> writing)
+            throws InterruptedException {
+        while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+            if (writing.isDone()) {
+                return;
+            }
+        }
+    }
+
+    private void drain(BlockingQueue<List<CatalogImportWriter.Row>> queue, Report report) {
+        try {
+            for (List<CatalogImportWriter.Row> batch = queue.take(); batch != END; batch = queue.take()) {
+                write(batch, report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A failed batch is rolled back and retried row by row so only the offending rows are reported.
+    private void write(List<CatalogImportWriter.Row> batch, Report report) {
+        try {
+            report.add(writer.write(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                report.error(batch.get(0).line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            for (CatalogImportWriter.Row row : batch) {
+                write(List.of(row), report);
+            }
+        }
+    }
+
+    private static class Report {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long updated;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        synchronized void row() {
+            rows++;
+        }
+
+        synchronized void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+
+        synchronized void add(CatalogImportWriter.Result result) {
+            created += result.created();
+            updated += result.updated();
+            result.errors().forEach(error -> error(error.getLine(), error.getMessage()));
+        }
+
+        synchronized ImportReportDTO toDTO() {
+            List<ImportErrorDTO> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(ImportErrorDTO::getLine));
+            return new ImportReportDTO(rows, created, updated, failed, sorted);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.educandoweb.course.services.imports;
+
+import com.educandoweb.course.dto.ImportErrorDTO;
+import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.CategoryRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.events.CatalogChangedEvent;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+public class CatalogImportWriter {
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    // Upserts one batch in a single transaction: categories by name, products by id or else by name.
+    @Transactional
+    public Result write(List<Row> rows) {
+        List<Category> added = new ArrayList<>();
+        Map<String, Category> categories = upsertCategories(rows, added);
+
+        Set<Long> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (Row row : rows) {
+            if (row.id() != null) {
+                ids.add(row.id());
+            } else {
+                names.add(row.name());
+            }
+        }
+        Map<Long, Product> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            productRepository.findWithCategoriesByIdIn(ids).forEach(product -> byId.put(product.getId(), product));
+        }
+        Map<String, Product> byName = new HashMap<>();
+        if (!names.isEmpty()) {
+            productRepository.findWithCategoriesByNameIn(names).forEach(product -> byName.putIfAbsent(product.getName(), product));
+        }
+
+        int created = 0;
+        int updated = 0;
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        Set<Product> changed = new LinkedHashSet<>();
+        for (Row row : rows) {
+            Product product = row.id() != null ? byId.get(row.id()) : byName.get(row.name());
+            if (product == null && row.id() != null) {
+                errors.add(new ImportErrorDTO(row.line(), "Product " + row.id() + " not found"));
+                continue;
+            }
+            if (product == null) {
+                if (row.price() == null) {
+                    errors.add(new ImportErrorDTO(row.line(), "New products must have a price"));
+                    continue;
+                }
+                product = productRepository.save(new Product(null, row.name(), Objects.requireNonNullElse(row.description(), ""),
+                        row.price(), Objects.requireNonNullElse(row.imgUrl(), "")));
+                byName.put(product.getName(), product);
+                created++;
+            } else {
+                update(product, row);
+                updated++;
+            }
+            if (row.categories() != null) {
+                product.getCategories().clear();
+                for (String name : row.categories()) {
+                    product.getCategories().add(categories.get(name));
+                }
+            }
+            changed.add(product);
+        }
+        productRepository.flush();
+        changed.forEach(product -> publisher.publishEvent(new ProductChangedEvent(product.getId(), product, true)));
+        if (!changed.isEmpty() || !added.isEmpty()) {
+            publisher.publishEvent(new CatalogChangedEvent(changed.size(), added.size()));
+        }
+        return new Result(created, updated, errors);
+    }
+
+    private Map<String, Category> upsertCategories(List<Row> rows, List<Category> added) {
+        Set<String> names = new HashSet<>();
+        for (Row row : rows) {
+            if (row.categories() != null) {
+                names.addAll(row.categories());
+            }
+        }
+        Map<String, Category> categories = new HashMap<>();
+        if (names.isEmpty()) {
+            return categories;
+        }
+        categoryRepository.findByNameInOrderByIdAsc(names).forEach(category -> categories.putIfAbsent(category.getName(), category));
+        for (String name : names) {
+            if (!categories.containsKey(name)) {
+                Category category = categoryRepository.save(new Category(null, name));
+                categories.put(name, category);
+                added.add(category);
+            }
+        }
+        return categories;
+    }
+
+    private void update(Product product, Row row) {
+        if (row.name() != null) {
+            product.setName(row.name());
+        }
+        if (row.description() != null) {
+            product.setDescription(row.description());
+        }
+        if (row.price() != null) {
+            product.setPrice(row.price());
+        }
+        if (row.imgUrl() != null) {
+            product.setImgUrl(row.imgUrl());
+        }
+    }
+
+    // Null fields were not present in the file and leave existing values untouched.
+    public record Row(long line, Long id, String name, String description, Long price, String imgUrl, List<String> categories) {
+    }
+
+    public record Result(int created, int updated, List<ImportErrorDTO> errors) {
+    }
+}
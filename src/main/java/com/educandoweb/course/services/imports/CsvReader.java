@@ -0,0 +1,100 @@
+package com.educandoweb.course.services.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 records read one at a time: quoted fields may hold commas, quotes ("") and line breaks.
+public class CsvReader {
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+    private int pending = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new CsvFormatException(recordLine, "Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    public long getLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    public static class CsvFormatException extends IOException {
+        private final long line;
+
+        public CsvFormatException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
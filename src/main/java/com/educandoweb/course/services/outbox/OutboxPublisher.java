@@ -0,0 +1,8 @@
+package com.educandoweb.course.services.outbox;
+
+import com.educandoweb.course.services.events.OutboxMessage;
+
+public interface OutboxPublisher {
+    // Returns only once the receiver has acknowledged the message; any exception leaves it pending for the next relay run.
+    void publish(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,41 @@
+package com.educandoweb.course.services.outbox;
+
+import com.educandoweb.course.services.events.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+public class WebhookOutboxPublisher implements OutboxPublisher {
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper mapper;
+    private final HttpClient client;
+
+    public WebhookOutboxPublisher(URI url, Duration timeout, ObjectMapper mapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.mapper = mapper;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    // Delivery is at least once: the receiver should drop repeats by the event id header.
+    @Override
+    public void publish(OutboxMessage message) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("X-Outbox-Event-Id", String.valueOf(message.getId()))
+                .header("X-Outbox-Event-Type", message.getType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(message)))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("Outbox webhook answered " + status + " for event " + message.getId());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.educandoweb.course.services.search;
+
+import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class CategoryFacetIndex {
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final Roaring64Bitmap products = new Roaring64Bitmap();
+    private final Map<Long, Roaring64Bitmap> categories = new HashMap<>();
+    private final Map<Long, Set<Long>> productCategories = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Long> ids = repository.findIdsByIdGreaterThan(0L, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+        while (!ids.isEmpty()) {
+            Map<Long, Set<Long>> page = new LinkedHashMap<>();
+            ids.forEach(id -> page.put(id, new HashSet<>()));
+            for (Object[] row : repository.findCategoriesByIdIn(ids)) {
+                page.get((Long) row[0]).add((Long) row[1]);
+            }
+            page.forEach(this::index);
+            ids = repository.findIdsByIdGreaterThan(ids.get(ids.size() - 1), PageRequest.ofSize(REBUILD_PAGE_SIZE));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProduct());
+        }
+    }
+
+    public void index(Product product) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (Category category : product.getCategories()) {
+            categoryIds.add(category.getId());
+        }
+        index(product.getId(), categoryIds);
+    }
+
+    public void index(Long productId, Set<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            clear(productId);
+            products.addLong(productId);
+            for (Long categoryId : categoryIds) {
+                categories.computeIfAbsent(categoryId, c -> new Roaring64Bitmap()).addLong(productId);
+            }
+            productCategories.put(productId, Set.copyOf(categoryIds));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            clear(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Roaring64Bitmap match(Collection<Long> categoryIds, boolean all) {
+        lock.readLock().lock();
+        try {
+            if (categoryIds.isEmpty()) {
+                return copy(products);
+            }
+            Roaring64Bitmap result = null;
+            for (Long categoryId : categoryIds) {
+                Roaring64Bitmap bitmap = categories.getOrDefault(categoryId, new Roaring64Bitmap());
+                if (result == null) {
+                    result = copy(bitmap);
+                } else if (all) {
+                    result.and(bitmap);
+                } else {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<Long, Long> counts(Roaring64Bitmap result) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = new TreeMap<>();
+            categories.forEach((categoryId, bitmap) -> {
+                Roaring64Bitmap both = copy(result);
+                both.and(bitmap);
+                long count = both.getLongCardinality();
+                if (count > 0) {
+                    counts.put(categoryId, count);
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear(Long productId) {
+        products.removeLong(productId);
+        Set<Long> previous = productCategories.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (Long categoryId : previous) {
+            Roaring64Bitmap bitmap = categories.get(categoryId);
+            if (bitmap != null) {
+                bitmap.removeLong(productId);
+                if (bitmap.isEmpty()) {
+                    categories.remove(categoryId);
+                }
+            }
+        }
+    }
+
+    // Roaring64Bitmap.clone declares a checked exception, so copies are made by union into an empty bitmap.
+    private static Roaring64Bitmap copy(Roaring64Bitmap bitmap) {
+        Roaring64Bitmap copy = new Roaring64Bitmap();
+        copy.or(bitmap);
+        return copy;
+    }
+}
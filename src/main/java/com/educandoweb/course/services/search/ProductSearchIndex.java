@@ -0,0 +1,139 @@
+package com.educandoweb.course.services.search;
+
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Component
+public class ProductSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> page = repository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+        while (!page.isEmpty()) {
+            page.forEach(this::index);
+            Long last = page.get(page.size() - 1).getId();
+            page = repository.findByIdGreaterThanOrderByIdAsc(last, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProduct());
+        }
+    }
+
+    public synchronized void index(Product product) {
+        remove(product.getId());
+
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(product.getName()).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(product.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(product.getId(), frequency));
+        documents.put(product.getId(), terms);
+        totalLength.addAndGet(length(terms));
+    }
+
+    public synchronized void remove(Long productId) {
+        Map<String, Integer> terms = documents.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            postings.computeIfPresent(term, (t, docs) -> {
+                docs.remove(productId);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+        totalLength.addAndGet(-length(terms));
+    }
+
+    public List<Long> search(String query, int limit) {
+        int documentCount = documents.size();
+        if (documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength.get() / documentCount;
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : new HashSet<>(tokenize(query))) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            docs.forEach((productId, frequency) -> {
+                Map<String, Integer> terms = documents.get(productId);
+                double length = terms != null ? length(terms) : averageLength;
+                double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(productId, score, Double::sum);
+            });
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int length(Map<String, Integer> terms) {
+        int length = 0;
+        for (int frequency : terms.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+}
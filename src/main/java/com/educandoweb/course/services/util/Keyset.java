@@ -0,0 +1,28 @@
+package com.educandoweb.course.services.util;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class Keyset {
+    private Keyset() { }
+
+    public static int pageSize(int size, int maxSize) {
+        return Math.max(1, Math.min(size, maxSize));
+    }
+
+    // Walks every row in id order one page at a time; a short page is the last one, so no trailing empty query is issued.
+    public static <T> void forEach(BiFunction<Long, Integer, List<T>> pages, int size, Function<T, Long> id, Runnable afterPage, Consumer<T> action) {
+        List<T> page = pages.apply(0L, size);
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            Long last = id.apply(page.get(page.size() - 1));
+            afterPage.run();
+            if (page.size() < size) {
+                return;
+            }
+            page = pages.apply(last, size);
+        }
+    }
+}
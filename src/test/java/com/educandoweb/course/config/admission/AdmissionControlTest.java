@@ -0,0 +1,106 @@
+package com.educandoweb.course.config.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {"app.admission.rate=1", "app.admission.burst=5"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private LoadMonitor loadMonitor;
+    @Autowired
+    private MeterRegistry registry;
+
+    private Gauge pending;
+
+    @AfterEach
+    void cleanup() {
+        if (pending != null) {
+            registry.remove(pending);
+        }
+        loadMonitor.sample();
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a client exhausts its burst, without affecting other clients")
+    void rateLimit() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/users").with(from("10.0.0.1"))).andReturn();
+        }
+
+        // Act
+        MvcResult limited = mockMvc.perform(get("/users").with(from("10.0.0.1"))).andReturn();
+        MvcResult other = mockMvc.perform(get("/users").with(from("10.0.0.2"))).andReturn();
+
+        // Assert
+        assertEquals(429, limited.getResponse().getStatus());
+        assertEquals("1", limited.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(limited.getResponse().getContentAsString().contains("Too many requests"));
+        assertEquals(200, other.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should shed load with 503 and Retry-After while connections are queueing in the pool")
+    void shedLoad() throws Exception {
+        // Arrange
+        AtomicInteger waiting = new AtomicInteger(50);
+        pending = Gauge.builder("hikaricp.connections.pending", waiting, AtomicInteger::get).tag("pool", "saturated").register(registry);
+        loadMonitor.sample();
+
+        // Act
+        MvcResult shed = mockMvc.perform(get("/users").with(from("10.0.0.3"))).andReturn();
+        waiting.set(0);
+        loadMonitor.sample();
+        MvcResult recovered = mockMvc.perform(get("/users").with(from("10.0.0.3"))).andReturn();
+
+        // Assert
+        assertEquals(503, shed.getResponse().getStatus());
+        assertEquals("2", shed.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, recovered.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should rate limit cached responses like any other request")
+    void rateLimitCacheHits() throws Exception {
+        // Arrange
+        MvcResult hit = null;
+        for (int i = 0; i < 5; i++) {
+            hit = mockMvc.perform(get("/categories").with(from("10.0.0.4"))).andReturn();
+        }
+
+        // Act
+        MvcResult limited = mockMvc.perform(get("/categories").with(from("10.0.0.4"))).andReturn();
+
+        // Assert
+        assertEquals("HIT", hit.getResponse().getHeader("X-Cache"));
+        assertEquals(429, limited.getResponse().getStatus());
+        assertNull(limited.getResponse().getHeader("X-Cache"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.educandoweb.course.config.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should admit a burst, then refill at the configured rate")
+    void burstAndRefill() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        // Act
+        int admitted = 0;
+        while (bucket.tryAcquire(0) == 0) {
+            admitted++;
+        }
+        long wait = bucket.tryAcquire(0);
+
+        // Assert
+        assertEquals(5, admitted);
+        assertEquals(SECOND / 10, wait);
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.tryAcquire(SECOND / 10) > 0);
+        assertFalse(bucket.isFull(SECOND / 10));
+        assertTrue(bucket.isFull(SECOND));
+    }
+
+    @Test
+    @DisplayName("Should never admit more than the burst under concurrent callers")
+    void concurrentCallers() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 1000, 0);
+        int[] admitted = new int[8];
+        Thread[] threads = new Thread[admitted.length];
+
+        // Act
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        admitted[index]++;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        int total = 0;
+        for (int count : admitted) {
+            total += count;
+        }
+        assertEquals(1000, total);
+    }
+}
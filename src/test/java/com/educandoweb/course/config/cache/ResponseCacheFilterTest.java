@@ -0,0 +1,86 @@
+package com.educandoweb.course.config.cache;
+
+import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.repositories.CategoryRepository;
+import com.educandoweb.course.services.CategoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseCacheFilterTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ResponseCacheFilter filter;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category electronics;
+
+    @BeforeEach
+    void setup() {
+        filter.invalidate();
+        electronics = categoryService.insert(new Category(null, "Electronics"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        categoryRepository.deleteAll();
+        filter.invalidate();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated catalog requests from the cache with Cache-Control and Vary headers")
+    void cachedResponse() throws Exception {
+        // Arrange
+        String uri = "/categories/" + electronics.getId();
+
+        // Act
+        MvcResult first = mockMvc.perform(get(uri)).andReturn();
+        MvcResult second = mockMvc.perform(get(uri)).andReturn();
+        MvcResult notModified = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, second.getResponse().getHeader(HttpHeaders.ETAG))).andReturn();
+
+        // Assert
+        assertEquals("MISS", first.getResponse().getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+        assertEquals(first.getResponse().getHeader(HttpHeaders.ETAG), second.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=30, must-revalidate, public", second.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(second.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        assertEquals(304, notModified.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should key cached responses by content type and drop them when a category changes")
+    void invalidation() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/categories")).andReturn();
+        MvcResult cbor = mockMvc.perform(get("/categories").accept("application/cbor")).andReturn();
+
+        // Act
+        categoryService.insert(new Category(null, "Books"));
+        MvcResult after = mockMvc.perform(get("/categories")).andReturn();
+
+        // Assert
+        assertEquals("MISS", cbor.getResponse().getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        assertEquals("MISS", after.getResponse().getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertTrue(after.getResponse().getContentAsString().contains("Books"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.educandoweb.course.config.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+    private static final DataSource PRIMARY = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private static final DataSource REPLICA = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+    private static final DataSource DOWN = new DriverManagerDataSource("jdbc:h2:mem:down;IFEXISTS=TRUE", "sa", "");
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void routesByTransactionType() {
+        // Arrange
+        DataSource dataSource = routing(List.of(REPLICA), true);
+
+        // Act
+        String readOnly = database(dataSource, true);
+        String readWrite = database(dataSource, false);
+        String outsideTransaction = new JdbcTemplate(dataSource).queryForObject("select database()", String.class);
+
+        // Assert
+        assertEquals("REPLICA", readOnly);
+        assertEquals("PRIMARY", readWrite);
+        assertEquals("PRIMARY", outsideTransaction);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is down")
+    void fallsBackToPrimary() {
+        // Arrange
+        DataSource dataSource = routing(List.of(DOWN), true);
+
+        // Act
+        String readOnly = database(dataSource, true);
+
+        // Assert
+        assertEquals("PRIMARY", readOnly);
+    }
+
+    @Test
+    @DisplayName("Should fail read-only transactions without a healthy replica when fallback is off")
+    void failsWithoutFallback() {
+        // Arrange
+        DataSource dataSource = routing(List.of(DOWN), false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> database(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("Should skip replicas that lag behind the configured limit")
+    void skipsLaggingReplica() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(PRIMARY, List.of(REPLICA), "select 60", Duration.ofSeconds(10), true);
+
+        // Act
+        routing.checkReplicas();
+        String readOnly = database(new LazyConnectionDataSourceProxy(routing), true);
+
+        // Assert
+        assertEquals(0, routing.healthyReplicas());
+        assertEquals("PRIMARY", readOnly);
+    }
+
+    private static DataSource routing(List<DataSource> replicas, boolean fallbackToPrimary) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(PRIMARY, replicas, null, Duration.ofSeconds(10), fallbackToPrimary));
+    }
+
+    private static String database(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+}
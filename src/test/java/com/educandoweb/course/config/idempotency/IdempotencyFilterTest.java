@@ -0,0 +1,146 @@
+package com.educandoweb.course.config.idempotency;
+
+import com.educandoweb.course.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+    private static final String MARIA = "{\"name\":\"Maria Brown\",\"email\":\"maria@gmail.com\",\"phone\":\"988888888\",\"password\":\"123456\"}";
+    private static final int LARGE_BATCH = 12000;
+    private static final String ALEX = "{\"name\":\"Alex Green\",\"email\":\"alex@gmail.com\",\"phone\":\"977777777\",\"password\":\"123456\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retried request instead of inserting again")
+    void replay() throws Exception {
+        // Arrange
+        MvcResult first = createUser("retry-1", MARIA);
+
+        // Act
+        MvcResult retry = createUser("retry-1", MARIA);
+        MvcResult mismatch = createUser("retry-1", ALEX);
+
+        // Assert
+        assertEquals(201, first.getResponse().getStatus());
+        assertEquals(201, retry.getResponse().getStatus());
+        assertEquals("true", retry.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getResponse().getHeader(HttpHeaders.LOCATION), retry.getResponse().getHeader(HttpHeaders.LOCATION));
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(422, mismatch.getResponse().getStatus());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto the in-flight request")
+    void concurrentDuplicates() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<MvcResult>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(() -> createUser("storm-1", MARIA));
+        }
+
+        // Act
+        List<Future<MvcResult>> results = executor.invokeAll(calls);
+        executor.shutdown();
+
+        // Assert
+        for (Future<MvcResult> result : results) {
+            assertEquals(201, result.get().getResponse().getStatus());
+        }
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should scope keys by the caller's address")
+    void scope() throws Exception {
+        // Arrange
+        MvcResult first = createUser("shared-1", MARIA, "10.0.0.1");
+
+        // Act
+        MvcResult otherCaller = createUser("shared-1", ALEX, "10.0.0.2");
+
+        // Assert
+        assertEquals(201, first.getResponse().getStatus());
+        assertEquals(201, otherCaller.getResponse().getStatus());
+        assertNull(otherCaller.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertFalse(otherCaller.getResponse().getContentAsString().contains("maria@gmail.com"));
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should fingerprint and replay keyed batches larger than a megabyte")
+    void largeBody() throws Exception {
+        // Arrange
+        StringJoiner users = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < LARGE_BATCH; i++) {
+            users.add("{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@gmail.com\",\"phone\":\"988888888\",\"password\":\"123456\"}");
+        }
+        String body = users.toString();
+        String changed = body.replace("User 0\"", "User Zero\"");
+
+        // Act
+        MvcResult first = createUsers("batch-1", body);
+        MvcResult retry = createUsers("batch-1", body);
+        MvcResult mismatch = createUsers("batch-1", changed);
+
+        // Assert
+        assertTrue(body.length() > 1024 * 1024);
+        assertEquals(201, first.getResponse().getStatus());
+        assertEquals(201, retry.getResponse().getStatus());
+        assertEquals("true", retry.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(422, mismatch.getResponse().getStatus());
+        assertEquals(LARGE_BATCH, userRepository.count());
+    }
+
+    private MvcResult createUsers(String key, String body) throws Exception {
+        return mockMvc.perform(post("/users/batch").header(IdempotencyFilter.KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andReturn();
+    }
+
+    private MvcResult createUser(String key, String body) throws Exception {
+        return createUser(key, body, "127.0.0.1");
+    }
+
+    private MvcResult createUser(String key, String body, String address) throws Exception {
+        return mockMvc.perform(post("/users").header(IdempotencyFilter.KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body)
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })).andReturn();
+    }
+}
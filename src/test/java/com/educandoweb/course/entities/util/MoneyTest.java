@@ -0,0 +1,44 @@
+package com.educandoweb.course.entities.util;
+
+import com.educandoweb.course.dto.SalesDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+    @Test
+    @DisplayName("Should format cents exactly like the plain decimal, including signs and extremes")
+    void format() {
+        // Arrange
+        List<Long> values = List.of(0L, 5L, -5L, 99L, 100L, -100L, 219000L, 123456789L, Long.MAX_VALUE, Long.MIN_VALUE);
+        char[] buffer = new char[24];
+
+        // Act & Assert
+        for (long cents : values) {
+            int start = Money.format(cents, buffer);
+            assertEquals(Money.toDecimal(cents).toPlainString(), new String(buffer, start, buffer.length - start));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write money as a JSON number and keep a decimal in binary formats")
+    void serialize() throws Exception {
+        // Arrange
+        SalesDTO sales = new SalesDTO(1L, -1205L, 3L);
+
+        // Act
+        String json = new ObjectMapper().writeValueAsString(sales);
+        CBORMapper cbor = new CBORMapper();
+        BigDecimal revenue = cbor.readTree(cbor.writeValueAsBytes(sales)).get("revenue").decimalValue();
+
+        // Assert
+        assertTrue(json.contains("\"revenue\":-12.05"));
+        assertEquals(new BigDecimal("-12.05"), revenue);
+    }
+}
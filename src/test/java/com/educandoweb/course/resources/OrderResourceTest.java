@@ -0,0 +1,195 @@
+package com.educandoweb.course.resources;
+
+import com.educandoweb.course.entities.*;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.util.Money;
+import com.educandoweb.course.repositories.*;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderResourceTest {
+    @Autowired
+    private OrderResource resource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper mapper;
+
+    private Statistics statistics;
+    private User client;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        var cat1 = categoryRepository.save(new Category(null, "Electronics"));
+        var cat2 = categoryRepository.save(new Category(null, "Computers"));
+        client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+
+        var p1 = new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, "");
+        var p2 = new Product(null, "Macbook Pro", "Nam eleifend maximus tortor.", 125000L, "");
+        var p3 = new Product(null, "PC Gamer", "Donec aliquet odio ac rhoncus.", 120000L, "");
+        p1.getCategories().add(cat1);
+        p2.getCategories().add(cat2);
+        p3.getCategories().add(cat1);
+        p3.getCategories().add(cat2);
+        List<Product> products = productRepository.saveAll(List.of(p1, p2, p3));
+
+        for (int i = 0; i < 10; i++) {
+            var order = orderRepository.save(new Order(null, Instant.now(), OrderStatus.PAID, client));
+            for (Product product : products) {
+                orderItemRepository.save(new OrderItem(order, product, i + 1, product.getPrice()));
+            }
+            order.setPayment(new Payment(null, Instant.now(), order));
+            orderRepository.save(order);
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderItemRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should check the ETag and serialize a page of orders with a fixed number of statements")
+    void findAllStatementCount() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        String json = transactionTemplate.execute(status -> write(resource.findAll(0L, 20, null).getBody()));
+
+        // Assert
+        assertNotNull(json);
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should check the ETag and serialize a single order with two statements")
+    void findByIdStatementCount() {
+        // Arrange
+        Long id = orderRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        // Act
+        String json = transactionTemplate.execute(status -> write(resource.findById(id, null).getBody()));
+
+        // Assert
+        assertNotNull(json);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should derive the ETag from the serialized orders so the version query revalidates it")
+    void etagMatchesBody() {
+        // Arrange
+        Long id = orderRepository.findAll().get(0).getId();
+        String pageTag = resource.findAll(0L, 20, null).getHeaders().getETag();
+        String orderTag = resource.findById(id, null).getHeaders().getETag();
+
+        // Act
+        var page = resource.findAll(0L, 20, pageTag);
+        var order = resource.findById(id, orderTag);
+
+        // Assert
+        assertEquals(304, page.getStatusCode().value());
+        assertEquals(304, order.getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Should keep the persisted order total in sync with its items and expose it with two decimals")
+    void persistedTotal() {
+        // Arrange
+        Order order = orderRepository.findAll().get(0);
+
+        // Act
+        Order found = resource.findById(order.getId(), null).getBody();
+        BigDecimal clientTotal = resource.totalByClient(client.getId()).getBody();
+
+        // Assert
+        assertNotNull(found);
+        assertEquals(found.getItems().stream().mapToLong(OrderItem::getSubTotal).sum(), found.getTotal());
+        assertEquals(new BigDecimal("255200.00"), clientTotal);
+        assertTrue(write(found).contains("\"total\":" + Money.toDecimal(found.getTotal()).toPlainString()));
+        assertTrue(write(found).contains("\"price\":2190.00"));
+    }
+
+    @Test
+    @DisplayName("Should export the orders in a period as NDJSON and CSV filtered by status")
+    void export() throws IOException {
+        // Arrange
+        Instant start = Instant.now().minus(1, ChronoUnit.HOURS);
+        Instant end = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        // Act
+        String[] ndjson = read(resource.export(start, end, null, "ndjson").getBody()).split("\n");
+        String[] csv = read(resource.export(start, end, OrderStatus.PAID, "csv").getBody()).split("\r\n");
+        String waiting = read(resource.export(start, end, OrderStatus.WAITING_PAYMENT, "ndjson").getBody());
+
+        // Assert
+        assertEquals(10, ndjson.length);
+        for (String line : ndjson) {
+            assertEquals(3, mapper.readTree(line).get("items").size());
+            assertEquals("PAID", mapper.readTree(line).get("orderStatus").asText());
+        }
+        assertEquals(31, csv.length);
+        assertTrue(csv[0].startsWith("orderId,moment,orderStatus"));
+        assertTrue(csv[1].contains(",PAID," + client.getId() + ",Maria Brown,maria@gmail.com,"));
+        assertEquals("", waiting);
+        assertThrows(ValidationException.class, () -> resource.export(end, start, null, "ndjson"));
+    }
+
+    private String read(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
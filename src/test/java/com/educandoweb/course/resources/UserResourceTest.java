@@ -1,5 +1,6 @@
 package com.educandoweb.course.resources;
 
+import com.educandoweb.course.dto.UserDTO;
 import com.educandoweb.course.entities.User;
 import com.educandoweb.course.repositories.UserRepository;
 import com.educandoweb.course.services.UserService;
@@ -11,6 +12,8 @@ import org.openqa.selenium.devtools.SeleniumCdpConnection;
 import org.openqa.selenium.manager.SeleniumManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.*;
@@ -40,14 +43,34 @@ class UserResourceTest {
         }
 
         // Act
-        var foundUsers = resource.findAll();
+        var foundUsers = resource.findAll(0L, 20, null);
 
         // Assert
-        assertEquals(foundUsers.getBody(), users);
+        assertEquals(foundUsers.getBody(), users.stream().map(UserDTO::new).toList());
 
         repository.deleteAll();
     }
 
+    @Test
+    @DisplayName("Should link to the next page only when the page is full")
+    void findAllNextLink() {
+        // Arrange
+        var user1 = new User(null, "Maria Brown", "maria@gmail.com", "999999999", "123456");
+        var user2 = new User(null, "James Greer", "jim@gmail.com", "999999998", "12345");
+        var user3 = new User(null, "Jack Ryan", "jack@gmail.com", "999999987", "654321");
+        List.of(user1, user2, user3).forEach(resource::insert);
+
+        // Act
+        var full = resource.findAll(0L, 2, null);
+        var last = resource.findAll(user2.getId(), 2, null);
+
+        // Assert
+        assertTrue(full.getHeaders().getFirst(HttpHeaders.LINK).contains("after=" + user2.getId()));
+        assertEquals(1, last.getBody().size());
+        assertNull(last.getHeaders().getFirst(HttpHeaders.LINK));
+        repository.deleteAll();
+    }
+
     @Test
     @DisplayName("Should return user with matching ID")
     void findById() {
@@ -63,7 +86,7 @@ class UserResourceTest {
         }
 
         // Act
-        var foundUsers = resource.findById(user2.getId());
+        var foundUsers = resource.findById(user2.getId(), null);
 
         // Assert
         assertEquals(Objects.requireNonNull(foundUsers.getBody()), user2);
@@ -78,7 +101,7 @@ class UserResourceTest {
         resource.insert(user1);
 
         // Act
-        var foundUsers = resource.findById(user1.getId());
+        var foundUsers = resource.findById(user1.getId(), null);
 
         // Assert
         assertEquals(foundUsers.getBody(), user1);
@@ -101,11 +124,11 @@ class UserResourceTest {
 
         // Act
         resource.delete(user2.getId());
-        var foundUsers = resource.findAll();
+        var foundUsers = resource.findAll(0L, 20, null);
         users.remove(user2);
 
         // Assert
-        assertEquals(foundUsers.getBody(), users);
+        assertEquals(foundUsers.getBody(), users.stream().map(UserDTO::new).toList());
         repository.deleteAll();
     }
 
@@ -121,11 +144,32 @@ class UserResourceTest {
 
         // Act
         resource.update(user1.getId(), user1_2);
-        var foundUsers = resource.findById(user1.getId());
+        var foundUsers = resource.findById(user1.getId(), null);
 
         // Assert
         user1_2.setId(user1.getId());
         assertEquals(foundUsers.getBody(), user1_2);
         repository.deleteAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should answer 304 while the user is unchanged")
+    void conditionalFindById() {
+        // Arrange
+        var user = repository.save(new User(null, "Maria Brown", "maria@gmail.com", "999999999", "123456"));
+        String etag = resource.findById(user.getId(), null).getHeaders().getETag();
+
+        // Act
+        var unchanged = resource.findById(user.getId(), etag);
+        user.setName("Maria Green");
+        repository.save(user);
+        var changed = resource.findById(user.getId(), etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+        repository.deleteAll();
+    }
+}
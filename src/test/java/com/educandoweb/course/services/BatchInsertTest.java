@@ -0,0 +1,242 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.dto.SalesDTO;
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.repositories.OrderItemRepository;
+import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.OutboxEventRepository;
+import com.educandoweb.course.repositories.ProductDailySalesRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchInsertTest {
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private ProductDailySalesRepository salesRepository;
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanup() {
+        outboxRepository.deleteAllInBatch();
+        salesRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should insert users with far fewer statements in batch than one by one")
+    void batchThroughput() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        for (User user : users("single")) {
+            userService.insert(user);
+        }
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<Long> ids = userService.insertAll(users("batch"));
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(ROWS, ids.size());
+        assertEquals(ROWS * 2L, userRepository.count());
+        assertTrue(batchStatements * 10 < singleStatements);
+    }
+
+    @Test
+    @DisplayName("Should insert orders with their items and payment in batch")
+    void batchOrders() {
+        // Arrange
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        Product product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        List<OrderDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            OrderDTO dto = new OrderDTO(Instant.now(), OrderStatus.PAID, client.getId(), Instant.now());
+            dto.getItems().add(new OrderItemDTO(product.getId(), 2, null));
+            dtos.add(dto);
+        }
+
+        // Act
+        List<Long> ids = orderService.insertAll(dtos);
+
+        // Assert
+        Order order = orderService.findById(ids.get(ids.size() - 1));
+        assertEquals(120, ids.size());
+        assertEquals(120, orderItemRepository.count());
+        assertEquals(1, order.getItems().size());
+        assertNotNull(order.getPayment());
+        assertEquals(438000L, order.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should roll up batch inserted items per product and day")
+    void batchOrdersRollup() {
+        // Arrange
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        Product product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        Instant moment = Instant.parse("2019-06-20T19:53:07Z");
+        LocalDate day = LocalDate.ofInstant(moment, ZoneOffset.UTC);
+        List<OrderDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderDTO dto = new OrderDTO(moment, OrderStatus.PAID, client.getId(), moment);
+            dto.getItems().add(new OrderItemDTO(product.getId(), 2, 10000L));
+            dtos.add(dto);
+        }
+
+        // Act
+        orderService.insertAll(dtos.subList(0, 1));
+        orderService.insertAll(dtos.subList(1, 3));
+        List<SalesDTO> byProduct = salesService.findByProduct(day, day);
+        List<SalesDTO> byDay = salesService.findByDay(day.minusDays(1), day.plusDays(1));
+
+        // Assert
+        assertEquals(1, byProduct.size());
+        assertEquals(product.getId(), byProduct.get(0).getId());
+        assertEquals(60000L, byProduct.get(0).getRevenue());
+        assertEquals(6L, byProduct.get(0).getUnits());
+        assertEquals(1, byDay.size());
+        assertEquals(day, byDay.get(0).getDay());
+    }
+
+    @Test
+    @DisplayName("Should take canceled orders back out of the rollup")
+    void cancelRollup() {
+        // Arrange
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        Product product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        Instant moment = Instant.parse("2019-06-20T19:53:07Z");
+        LocalDate day = LocalDate.ofInstant(moment, ZoneOffset.UTC);
+        OrderDTO kept = new OrderDTO(moment, OrderStatus.PAID, client.getId(), moment);
+        kept.getItems().add(new OrderItemDTO(product.getId(), 2, 10000L));
+        OrderDTO canceled = new OrderDTO(moment, OrderStatus.WAITING_PAYMENT, client.getId(), null);
+        canceled.getItems().add(new OrderItemDTO(product.getId(), 3, 10000L));
+        List<Long> ids = orderService.insertAll(List.of(kept, canceled));
+
+        // Act
+        paymentService.updateStatus(ids.get(1), OrderStatus.CANCELED);
+        List<SalesDTO> byProduct = salesService.findByProduct(day, day);
+
+        // Assert
+        assertEquals(1, byProduct.size());
+        assertEquals(20000L, byProduct.get(0).getRevenue());
+        assertEquals(2L, byProduct.get(0).getUnits());
+    }
+
+    @Test
+    @DisplayName("Should reject reversed and oversized sales ranges")
+    void invalidSalesRange() {
+        // Arrange
+        LocalDate day = LocalDate.of(2019, 6, 20);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> salesService.findByProduct(day, day.minusDays(1)));
+        assertThrows(ValidationException.class, () -> salesService.findByCategory(day, day.minusDays(1)));
+        assertThrows(ValidationException.class, () -> salesService.findByDay(day, day.plusYears(5)));
+        assertTrue(salesService.findByDay(day, day.plusDays(365)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject orders whose status and payment moment disagree")
+    void paymentMismatch() {
+        // Arrange
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        Product product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        OrderDTO unpaid = new OrderDTO(Instant.now(), OrderStatus.PAID, client.getId(), null);
+        unpaid.getItems().add(new OrderItemDTO(product.getId(), 1, null));
+        OrderDTO waiting = new OrderDTO(Instant.now(), OrderStatus.WAITING_PAYMENT, client.getId(), Instant.now());
+        waiting.getItems().add(new OrderItemDTO(product.getId(), 1, null));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> orderService.insertAll(List.of(unpaid)));
+        assertThrows(ValidationException.class, () -> orderService.insertAll(List.of(waiting)));
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject orders created past the start of their lifecycle")
+    void laterInitialStatus() {
+        // Arrange
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        Product product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        List<OrderDTO> dtos = new ArrayList<>();
+        for (OrderStatus status : List.of(OrderStatus.SHIPED, OrderStatus.DELIVERED, OrderStatus.CANCELED)) {
+            for (Instant paymentMoment : Arrays.asList(null, Instant.now())) {
+                OrderDTO dto = new OrderDTO(Instant.now(), status, client.getId(), paymentMoment);
+                dto.getItems().add(new OrderItemDTO(product.getId(), 1, null));
+                dtos.add(dto);
+            }
+        }
+
+        // Act & Assert
+        for (OrderDTO dto : dtos) {
+            assertThrows(ValidationException.class, () -> orderService.insertAll(List.of(dto)));
+        }
+        assertEquals(0, orderRepository.count());
+    }
+
+    private List<User> users(String prefix) {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(new User(null, prefix + " " + i, prefix + i + "@gmail.com", "988888888", "123456"));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,139 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.dto.PlacementDTO;
+import com.educandoweb.course.dto.PlacementStatus;
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.repositories.OrderItemRepository;
+import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.ProductDailySalesRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.exceptions.ResourceNotFoundException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPlacementServiceTest {
+    @Autowired
+    private OrderPlacementService placementService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private ProductDailySalesRepository salesRepository;
+    @Autowired
+    private OrderService orderService;
+
+    private User client;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+    }
+
+    @AfterEach
+    void cleanup() {
+        salesRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should accept orders immediately and persist them in the background")
+    void placeOrders() throws InterruptedException {
+        // Arrange
+        List<PlacementDTO> accepted = new ArrayList<>();
+
+        // Act
+        for (int i = 1; i <= 50; i++) {
+            accepted.add(placementService.place(order(new OrderItemDTO(product.getId(), i, null))));
+        }
+        List<PlacementDTO> statuses = awaitCompletion(accepted);
+
+        // Assert
+        assertTrue(accepted.stream().allMatch(p -> p.getStatus() == PlacementStatus.QUEUED));
+        assertTrue(statuses.stream().allMatch(p -> p.getStatus() == PlacementStatus.PLACED));
+        Order last = orderService.findById(statuses.get(49).getOrderId());
+        assertEquals(50 * 219000L, last.getTotal());
+        assertEquals(50, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid orders before queueing them")
+    void rejectInvalidOrders() {
+        // Arrange
+        OrderDTO noItems = order();
+        OrderDTO badQuantity = order(new OrderItemDTO(product.getId(), 0, null));
+        OrderDTO unknownProduct = order(new OrderItemDTO(-1L, 1, null));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> placementService.place(noItems));
+        assertThrows(ValidationException.class, () -> placementService.place(badQuantity));
+        assertThrows(ResourceNotFoundException.class, () -> placementService.place(unknownProduct));
+        assertThrows(ResourceNotFoundException.class, () -> placementService.findStatus("unknown"));
+    }
+
+    @Test
+    @DisplayName("Should reject orders placed in a shipped or terminal state before queueing them")
+    void rejectLaterInitialStatus() {
+        // Arrange
+        OrderDTO shipped = order(new OrderItemDTO(product.getId(), 1, null));
+        shipped.setOrderStatus(OrderStatus.SHIPED);
+        shipped.setPaymentMoment(Instant.now());
+        OrderDTO canceled = order(new OrderItemDTO(product.getId(), 1, null));
+        canceled.setOrderStatus(OrderStatus.CANCELED);
+        OrderDTO unpaid = order(new OrderItemDTO(product.getId(), 1, null));
+        unpaid.setOrderStatus(OrderStatus.PAID);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> placementService.place(shipped));
+        assertThrows(ValidationException.class, () -> placementService.place(canceled));
+        assertThrows(ValidationException.class, () -> placementService.place(unpaid));
+        assertEquals(0, orderRepository.count());
+    }
+
+    private OrderDTO order(OrderItemDTO... items) {
+        OrderDTO dto = new OrderDTO(null, null, client.getId(), null);
+        dto.getItems().addAll(List.of(items));
+        return dto;
+    }
+
+    private List<PlacementDTO> awaitCompletion(List<PlacementDTO> accepted) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            List<PlacementDTO> statuses = accepted.stream().map(p -> placementService.findStatus(p.getTicket())).toList();
+            if (statuses.stream().noneMatch(p -> p.getStatus() == PlacementStatus.QUEUED)) {
+                return statuses;
+            }
+            Thread.sleep(100);
+        }
+        fail("Orders were not placed in time");
+        return List.of();
+    }
+}
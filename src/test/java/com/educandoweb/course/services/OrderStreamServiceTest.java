@@ -0,0 +1,129 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.OrderDTO;
+import com.educandoweb.course.dto.OrderEventDTO;
+import com.educandoweb.course.dto.OrderItemDTO;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.repositories.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderStreamServiceTest {
+    @Autowired
+    private OrderStreamService streamService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private ProductDailySalesRepository salesRepository;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    private User client;
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        product = productRepository.save(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+    }
+
+    @AfterEach
+    void cleanup() {
+        outboxRepository.deleteAllInBatch();
+        salesRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should buffer order creation and status changes after commit and resume from a sequence")
+    void bufferAndResume() {
+        // Arrange
+        long start = streamService.head();
+
+        // Act
+        Long orderId = orderService.insertAll(List.of(order())).get(0);
+        paymentService.pay(orderId, Instant.now());
+        List<OrderEventDTO> events = streamService.since(start);
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(OrderEventDTO.CREATED, events.get(0).getType());
+        assertEquals(OrderStatus.WAITING_PAYMENT, events.get(0).getOrderStatus());
+        assertEquals(OrderEventDTO.STATUS_CHANGED, events.get(1).getType());
+        assertEquals(OrderStatus.PAID, events.get(1).getOrderStatus());
+        assertEquals(orderId, events.get(1).getOrderId());
+        assertEquals(1, streamService.since(start + 1).size());
+        assertNull(streamService.since(streamService.head() + 1));
+        assertNull(streamService.since(-1));
+    }
+
+    @Test
+    @DisplayName("Should replay missed events as server-sent events from Last-Event-ID")
+    void streamFromLastEventId() throws Exception {
+        // Arrange
+        long start = streamService.head();
+        Long orderId = orderService.insertAll(List.of(order())).get(0);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/orders/stream").header("Last-Event-ID", start)).andReturn();
+        String body = awaitContent(result, "event:" + OrderEventDTO.CREATED);
+
+        // Assert
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertTrue(body.contains("id:" + (start + 1)));
+        assertTrue(body.contains("\"orderId\":" + orderId));
+        assertTrue(body.contains("\"total\":2190.00"));
+    }
+
+    private OrderDTO order() {
+        OrderDTO dto = new OrderDTO(null, null, client.getId(), null);
+        dto.getItems().add(new OrderItemDTO(product.getId(), 1, null));
+        return dto;
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(100);
+        }
+        fail("Event " + expected + " was not streamed in time");
+        return null;
+    }
+}
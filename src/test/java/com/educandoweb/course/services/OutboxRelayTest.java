@@ -0,0 +1,105 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OutboxEvent;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.OutboxEventRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.outbox.WebhookOutboxPublisher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTest {
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private ObjectMapper mapper;
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final List<JsonNode> received = new CopyOnWriteArrayList<>();
+    private Order order;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/outbox", exchange -> {
+            JsonNode body = mapper.readTree(exchange.getRequestBody());
+            if (status.get() == 200) {
+                received.add(body);
+            }
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        URI url = URI.create("http://localhost:" + server.getAddress().getPort() + "/outbox");
+        ReflectionTestUtils.setField(relay, "publisher", new WebhookOutboxPublisher(url, Duration.ofSeconds(5), mapper));
+
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        order = orderRepository.save(new Order(null, Instant.now(), OrderStatus.WAITING_PAYMENT, client));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ReflectionTestUtils.setField(relay, "publisher", null);
+        server.stop(0);
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should mark outbox events published only after the webhook acknowledges them")
+    void deliverOnAcknowledge() {
+        // Arrange
+        paymentService.pay(order.getId(), Instant.parse("2023-10-01T12:00:00Z"));
+        paymentService.updateStatus(order.getId(), OrderStatus.SHIPED);
+        status.set(503);
+
+        // Act
+        relay.relay();
+        List<OutboxEvent> rejected = outboxRepository.findByAggregateTypeAndAggregateIdOrderByIdAsc("Order", order.getId());
+        status.set(200);
+        relay.relay();
+        List<OutboxEvent> acknowledged = outboxRepository.findByAggregateTypeAndAggregateIdOrderByIdAsc("Order", order.getId());
+
+        // Assert
+        assertTrue(rejected.stream().allMatch(event -> event.getPublishedAt() == null));
+        assertTrue(acknowledged.stream().allMatch(event -> event.getPublishedAt() != null));
+        assertEquals(List.of("OrderPaid", "OrderStatusChanged"), received.stream().map(node -> node.get("type").asText()).toList());
+        assertEquals(order.getId().longValue(), received.get(0).get("aggregateId").asLong());
+        assertTrue(received.get(0).get("payload").asText().contains("\"paymentMoment\":\"2023-10-01T12:00:00Z\""));
+    }
+}
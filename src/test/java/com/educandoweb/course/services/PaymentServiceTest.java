@@ -0,0 +1,98 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OutboxEvent;
+import com.educandoweb.course.entities.Payment;
+import com.educandoweb.course.entities.User;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.repositories.OrderRepository;
+import com.educandoweb.course.repositories.OutboxEventRepository;
+import com.educandoweb.course.repositories.UserRepository;
+import com.educandoweb.course.services.exceptions.InvalidStatusTransitionException;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentServiceTest {
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    private Order order;
+
+    @BeforeEach
+    void setup() {
+        User client = userRepository.save(new User(null, "Maria Brown", "maria@gmail.com", "988888888", "123456"));
+        order = orderRepository.save(new Order(null, Instant.now(), OrderStatus.WAITING_PAYMENT, client));
+    }
+
+    @AfterEach
+    void cleanup() {
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should write the payment and a pending outbox event together")
+    void pay() {
+        // Arrange
+        Instant moment = Instant.parse("2023-10-01T12:00:00Z");
+
+        // Act
+        Order paid = paymentService.pay(order.getId(), moment);
+
+        // Assert
+        assertEquals(OrderStatus.PAID, paid.getOrderStatus());
+        assertEquals(moment, orderRepository.findWithDetailsById(order.getId()).orElseThrow().getPayment().getMoment());
+        List<OutboxEvent> events = outboxRepository.findByAggregateTypeAndAggregateIdOrderByIdAsc("Order", order.getId());
+        assertEquals(1, events.size());
+        assertEquals("OrderPaid", events.get(0).getType());
+        assertNull(events.get(0).getPublishedAt());
+    }
+
+    @Test
+    @DisplayName("Should reject status transitions outside the order lifecycle")
+    void invalidTransitions() {
+        // Arrange
+        paymentService.pay(order.getId(), Instant.now());
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class, () -> paymentService.pay(order.getId(), Instant.now()));
+        assertThrows(InvalidStatusTransitionException.class, () -> paymentService.updateStatus(order.getId(), OrderStatus.DELIVERED));
+        paymentService.updateStatus(order.getId(), OrderStatus.SHIPED);
+        paymentService.updateStatus(order.getId(), OrderStatus.DELIVERED);
+        assertThrows(InvalidStatusTransitionException.class, () -> paymentService.updateStatus(order.getId(), OrderStatus.CANCELED));
+        assertEquals(3, outboxRepository.findByAggregateTypeAndAggregateIdOrderByIdAsc("Order", order.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Should reject paying an order that already has a payment")
+    void alreadyPaid() {
+        // Arrange
+        order.setPayment(new Payment(null, Instant.now(), order));
+        orderRepository.save(order);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> paymentService.pay(order.getId(), Instant.now()));
+        assertEquals(OrderStatus.WAITING_PAYMENT, orderRepository.findById(order.getId()).orElseThrow().getOrderStatus());
+        assertTrue(outboxRepository.findByAggregateTypeAndAggregateIdOrderByIdAsc("Order", order.getId()).isEmpty());
+    }
+}
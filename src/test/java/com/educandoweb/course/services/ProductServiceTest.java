@@ -0,0 +1,113 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.dto.CategoryDTO;
+import com.educandoweb.course.dto.FacetPageDTO;
+import com.educandoweb.course.dto.ProductDTO;
+import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.CategoryRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.exceptions.ValidationException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceTest {
+    @Autowired
+    private ProductService service;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should list products from column projections without loading entities")
+    void findPageProjection() {
+        // Arrange
+        var electronics = categoryRepository.save(new Category(null, "Electronics"));
+        var computers = categoryRepository.save(new Category(null, "Computers"));
+        var tv = new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, "");
+        var pc = new Product(null, "PC Gamer", "Donec aliquet odio ac rhoncus.", 120000L, "");
+        tv.getCategories().add(electronics);
+        pc.getCategories().add(electronics);
+        pc.getCategories().add(computers);
+        productRepository.saveAll(List.of(tv, pc));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<ProductDTO> page = service.findPage(0L, 20);
+
+        // Assert
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("Smart TV", "PC Gamer"), page.stream().map(ProductDTO::getName).toList());
+        assertEquals(List.of("Electronics"), page.get(0).getCategories().stream().map(CategoryDTO::getName).toList());
+        assertEquals(List.of("Electronics", "Computers"), page.get(1).getCategories().stream().map(CategoryDTO::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative facet cursor and return an empty page past the int id range")
+    void findByCategoriesCursorBounds() {
+        // Arrange
+        var electronics = categoryRepository.save(new Category(null, "Electronics"));
+        var tv = new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, "");
+        tv.getCategories().add(electronics);
+        service.insert(tv);
+
+        // Act
+        FacetPageDTO first = service.findByCategories(Set.of(electronics.getId()), "all", 0L, 20);
+        FacetPageDTO beyond = service.findByCategories(Set.of(electronics.getId()), "all", (long) Integer.MAX_VALUE, 20);
+
+        // Assert
+        assertThrows(ValidationException.class, () -> service.findByCategories(Set.of(electronics.getId()), "all", -1L, 20));
+        assertEquals(List.of("Smart TV"), first.getProducts().stream().map(ProductDTO::getName).toList());
+        assertEquals(1, beyond.getTotal());
+        assertTrue(beyond.getProducts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should load ranked search hits from the second-level cache, querying only the misses")
+    void searchSecondLevelCache() {
+        // Arrange
+        var tv = service.insert(new Product(null, "Smart TV", "Nulla eu imperdiet purus.", 219000L, ""));
+        var phone = service.insert(new Product(null, "Smart Phone", "Donec aliquet odio ac rhoncus.", 120000L, ""));
+        entityManagerFactory.getCache().evict(Product.class, phone.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<Product> cold = service.search("smart", 10);
+        long coldStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        List<Product> warm = service.search("smart", 10);
+
+        // Assert
+        assertEquals(Set.of(tv.getId(), phone.getId()), cold.stream().map(Product::getId).collect(Collectors.toSet()));
+        assertEquals(cold.stream().map(Product::getId).toList(), warm.stream().map(Product::getId).toList());
+        assertEquals(1, coldStatements);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+}
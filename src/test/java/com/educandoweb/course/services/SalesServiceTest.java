@@ -0,0 +1,87 @@
+package com.educandoweb.course.services;
+
+import com.educandoweb.course.entities.Order;
+import com.educandoweb.course.entities.OrderItem;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.entities.ProductDailySales;
+import com.educandoweb.course.entities.enums.OrderStatus;
+import com.educandoweb.course.entities.pk.ProductDailySalesPK;
+import com.educandoweb.course.repositories.ProductDailySalesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesServiceTest {
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private ProductDailySalesRepository repository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should add up concurrent first sales of the same product and day without duplicate rows")
+    void concurrentFirstSales() throws Exception {
+        // Arrange
+        Instant moment = Instant.parse("2023-10-01T12:00:00Z");
+        Product product = new Product(424242L, "Smart TV", "", 219000L, "");
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CyclicBarrier start = new CyclicBarrier(WRITERS);
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(() -> {
+                Order order = new Order(null, moment, OrderStatus.PAID, null);
+                OrderItem item = new OrderItem(order, product, 2, product.getPrice());
+                start.await(10, TimeUnit.SECONDS);
+                transactionTemplate.executeWithoutResult(status -> {
+                    salesService.record(List.of(item));
+                    sleep();
+                });
+                return null;
+            });
+        }
+
+        // Act
+        List<Future<Void>> results = executor.invokeAll(writers);
+        executor.shutdown();
+
+        // Assert
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        ProductDailySales sales = repository.findById(new ProductDailySalesPK(LocalDate.of(2023, 10, 1), product.getId())).orElseThrow();
+        assertEquals(2L * WRITERS, sales.getUnits());
+        assertEquals(2L * WRITERS * 219000L, sales.getRevenue());
+        assertEquals(1, repository.count());
+    }
+
+    // Holds the transaction open so the writers overlap before committing.
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
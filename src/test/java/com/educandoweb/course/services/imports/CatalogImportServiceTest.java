@@ -0,0 +1,148 @@
+package com.educandoweb.course.services.imports;
+
+import com.educandoweb.course.dto.ImportErrorDTO;
+import com.educandoweb.course.dto.ImportReportDTO;
+import com.educandoweb.course.entities.Category;
+import com.educandoweb.course.entities.Product;
+import com.educandoweb.course.repositories.CategoryRepository;
+import com.educandoweb.course.repositories.ProductRepository;
+import com.educandoweb.course.services.events.CatalogChangedEvent;
+import com.educandoweb.course.services.events.CategoryChangedEvent;
+import com.educandoweb.course.services.events.ProductChangedEvent;
+import com.educandoweb.course.services.search.CategoryFacetIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogImportServiceTest {
+    @Autowired
+    private CatalogImportService importService;
+    @Autowired
+    private ConfigurableApplicationContext context;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryFacetIndex facetIndex;
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create products, categories and links and report bad rows without aborting")
+    void importNew() throws IOException {
+        // Arrange
+        String csv = """
+                name,description,price,imgUrl,categories
+                Smart TV,"Nulla eu, imperdiet ""purus"".",2190.00,,Electronics;Home
+                Macbook Pro,"Line one
+                line two",1250.00,,Computers
+                PC Gamer,,1200.00,,Electronics;Computers
+                Broken,,abc,,Electronics
+                ,,10.00,,Electronics
+                Short,1.00
+                %s,,5.00,,Home
+                """.formatted("x".repeat(300));
+
+        // Act
+        ImportReportDTO report = importCsv(csv);
+
+        // Assert
+        assertEquals(7, report.getRows());
+        assertEquals(3, report.getCreated());
+        assertEquals(4, report.getFailed());
+        assertEquals(List.of(6L, 7L, 8L, 9L), report.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+        Map<String, Product> products = productsByName();
+        assertEquals(Set.of("Smart TV", "Macbook Pro", "PC Gamer"), products.keySet());
+        assertEquals("Nulla eu, imperdiet \"purus\".", products.get("Smart TV").getDescription());
+        assertEquals("Line one\nline two", products.get("Macbook Pro").getDescription());
+        assertEquals(219000L, products.get("Smart TV").getPrice());
+        Map<String, Long> categories = categoryRepository.findAll().stream().collect(Collectors.toMap(Category::getName, Category::getId));
+        assertEquals(Set.of("Electronics", "Home", "Computers"), categories.keySet());
+        assertEquals(2L, facetIndex.match(List.of(categories.get("Electronics")), true).getLongCardinality());
+        assertEquals(1L, facetIndex.match(List.of(categories.get("Electronics"), categories.get("Computers")), true).getLongCardinality());
+    }
+
+    @Test
+    @DisplayName("Should update existing products by id or name and only touch the columns present")
+    void importUpdates() throws IOException {
+        // Arrange
+        importCsv("name,description,price,categories\nSmart TV,Nulla eu imperdiet purus.,2190.00,Electronics\nPC Gamer,,1200.00,Electronics;Computers\n");
+        Long pcId = productsByName().get("PC Gamer").getId();
+
+        // Act
+        ImportReportDTO byId = importCsv("id,price,categories\n" + pcId + ",999.90,Home\n999999,1.00,Home\n");
+        ImportReportDTO byName = importCsv("name,price\nSmart TV,2000.00\nNew One,\n");
+
+        // Assert
+        assertEquals(1, byId.getUpdated());
+        assertEquals("Product 999999 not found", byId.getErrors().get(0).getMessage());
+        assertEquals(1, byName.getUpdated());
+        assertEquals(0, byName.getCreated());
+        assertEquals(List.of(3L), byName.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+        Map<String, Product> products = productsByName();
+        assertEquals(99990L, products.get("PC Gamer").getPrice());
+        assertEquals(200000L, products.get("Smart TV").getPrice());
+        assertEquals("Nulla eu imperdiet purus.", products.get("Smart TV").getDescription());
+        Map<String, Long> categories = categoryRepository.findAll().stream().collect(Collectors.toMap(Category::getName, Category::getId));
+        assertArrayEquals(new long[]{pcId}, facetIndex.match(List.of(categories.get("Home")), true).toArray());
+        assertTrue(facetIndex.match(List.of(categories.get("Computers")), true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should publish one catalog change per batch and batched product changes for the indexes")
+    void importEvents() throws IOException {
+        // Arrange
+        List<Object> events = new CopyOnWriteArrayList<>();
+        ApplicationListener<PayloadApplicationEvent<?>> listener = event -> events.add(event.getPayload());
+        context.addApplicationListener(listener);
+
+        // Act
+        try {
+            importCsv("name,price,categories\nSmart TV,2190.00,Electronics\nPC Gamer,1200.00,Electronics;Computers\nMacbook Pro,1250.00,Computers\n");
+        } finally {
+            context.removeApplicationListener(listener);
+        }
+
+        // Assert
+        List<CatalogChangedEvent> catalog = events.stream().filter(CatalogChangedEvent.class::isInstance).map(CatalogChangedEvent.class::cast).toList();
+        List<ProductChangedEvent> products = events.stream().filter(ProductChangedEvent.class::isInstance).map(ProductChangedEvent.class::cast).toList();
+        assertEquals(1, catalog.size());
+        assertEquals(3, catalog.get(0).getProducts());
+        assertEquals(2, catalog.get(0).getCategories());
+        assertEquals(3, products.size());
+        assertTrue(products.stream().allMatch(ProductChangedEvent::isBatched));
+        assertTrue(events.stream().noneMatch(CategoryChangedEvent.class::isInstance));
+    }
+
+    private ImportReportDTO importCsv(String csv) throws IOException {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Product> productsByName() {
+        return productRepository.findAll().stream().collect(Collectors.toMap(Product::getName, p -> p));
+    }
+}
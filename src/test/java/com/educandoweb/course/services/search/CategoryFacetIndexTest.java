@@ -0,0 +1,79 @@
+package com.educandoweb.course.services.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryFacetIndexTest {
+    private CategoryFacetIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new CategoryFacetIndex();
+        index.index(1L, Set.of(2L));
+        index.index(2L, Set.of(1L, 3L));
+        index.index(3L, Set.of(3L));
+        index.index(4L, Set.of(3L));
+        index.index(5L, Set.of(1L, 4L));
+    }
+
+    @Test
+    @DisplayName("Should intersect categories when matching all")
+    void matchAll() {
+        // Act
+        Roaring64Bitmap result = index.match(List.of(1L, 3L), true);
+
+        // Assert
+        assertArrayEquals(new long[]{2}, result.toArray());
+        assertEquals(Map.of(1L, 1L, 3L, 1L), index.counts(result));
+    }
+
+    @Test
+    @DisplayName("Should unite categories and count facets when matching any")
+    void matchAny() {
+        // Act
+        Roaring64Bitmap result = index.match(List.of(1L, 3L), false);
+
+        // Assert
+        assertArrayEquals(new long[]{2, 3, 4, 5}, result.toArray());
+        assertEquals(Map.of(1L, 2L, 3L, 3L, 4L, 1L), index.counts(result));
+    }
+
+    @Test
+    @DisplayName("Should move products between categories when they change")
+    void reindex() {
+        // Act
+        index.index(3L, Set.of(1L));
+        index.remove(5L);
+
+        // Assert
+        assertArrayEquals(new long[]{2, 3}, index.match(List.of(1L), true).toArray());
+        assertArrayEquals(new long[]{1, 2, 3, 4}, index.match(List.of(), true).toArray());
+        assertTrue(index.match(List.of(4L), true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should index and remove product ids above the int range")
+    void largeIds() {
+        // Arrange
+        long large = Integer.MAX_VALUE + 10L;
+
+        // Act
+        index.index(large, Set.of(3L));
+        Roaring64Bitmap indexed = index.match(List.of(3L), true);
+        Map<Long, Long> counts = index.counts(indexed);
+        index.remove(large);
+
+        // Assert
+        assertArrayEquals(new long[]{2, 3, 4, large}, indexed.toArray());
+        assertEquals(Map.of(1L, 1L, 3L, 4L), counts);
+        assertArrayEquals(new long[]{2, 3, 4}, index.match(List.of(3L), true).toArray());
+    }
+}
@@ -0,0 +1,66 @@
+package com.educandoweb.course.services.search;
+
+import com.educandoweb.course.entities.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ProductSearchIndex();
+        index.index(new Product(1L, "The Lord of the Rings", "Fantasy book by Tolkien.", 9050L, ""));
+        index.index(new Product(2L, "Smart TV", "Television with smart apps.", 219000L, ""));
+        index.index(new Product(3L, "Macbook Pro", "Laptop computer for smart professionals.", 125000L, ""));
+        index.index(new Product(4L, "Rails for Dummies", "Programming book.", 10099L, ""));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void rankByField() {
+        // Act
+        List<Long> ids = index.search("smart", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), ids);
+    }
+
+    @Test
+    @DisplayName("Should match ignoring case and accents")
+    void normalizeTokens() {
+        // Act
+        List<Long> ids = index.search("LÓRD", 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    @DisplayName("Should limit the number of results")
+    void limitResults() {
+        // Act
+        List<Long> ids = index.search("book smart", 1);
+
+        // Assert
+        assertEquals(1, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should reflect updated and removed products")
+    void incrementalUpdates() {
+        // Act
+        index.index(new Product(2L, "OLED Television", "Wall mounted.", 219000L, ""));
+        index.remove(4L);
+
+        // Assert
+        assertEquals(List.of(3L), index.search("smart", 10));
+        assertEquals(List.of(2L), index.search("television", 10));
+        assertEquals(List.of(1L), index.search("book", 10));
+    }
+}